@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator;
+
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copies the files of the modules and all their transitive imports and includes to a directory or to a zip file, so
+ * the modules can be parsed without the rest of the library.
+ */
+final class ClosureExport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClosureExport.class);
+    private static final String ZIP = ".zip";
+
+    private ClosureExport() {
+        // utility class
+    }
+
+    /**
+     * Find files of given modules and their dependencies. Files are matched to the modules of the context by the
+     * name and the latest revision in their headers.
+     *
+     * @param graph   dependency graph of the parsed modules
+     * @param sources modules to start with
+     * @param files   all files given to the parser
+     * @return files of the dependency closure
+     */
+    static Set<File> findFiles(final DependencyGraph graph, final List<RevisionSourceIdentifier> sources,
+            final Collection<File> files) {
+        final Map<String, File> filesById = new HashMap<>();
+        for (final YangHeaderIndex.Header header : YangHeaderIndex.scan(files).getHeaders()) {
+            filesById.putIfAbsent(header.getId(), header.getFile());
+        }
+        final Set<DependencyGraph.Node> closure = new LinkedHashSet<>();
+        for (final RevisionSourceIdentifier source : sources) {
+            graph.findNode(source.getName(), source.getRevision()).ifPresent(node -> {
+                closure.add(node);
+                closure.addAll(graph.getClosure(node, true, true));
+            });
+        }
+        final Set<File> closureFiles = new LinkedHashSet<>();
+        for (final DependencyGraph.Node node : closure) {
+            final File file = filesById.get(node.getId());
+            if (file == null) {
+                LOG.warn("File of module {} was not found", node.getId());
+            } else {
+                closureFiles.add(file);
+            }
+        }
+        return closureFiles;
+    }
+
+    /**
+     * Copy files to given directory, or write them to a zip file if the target ends with {@value #ZIP}.
+     *
+     * @param files  files to copy
+     * @param target directory or zip file
+     * @throws IOException if a file can not be copied
+     */
+    static void export(final Collection<File> files, final Path target) throws IOException {
+        if (target.getFileName().toString().toLowerCase(Locale.ENGLISH).endsWith(ZIP)) {
+            final Path parent = target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            final Set<String> names = new HashSet<>();
+            try (OutputStream os = Files.newOutputStream(target); ZipOutputStream zip = new ZipOutputStream(os)) {
+                for (final File file : files) {
+                    if (names.add(file.getName())) {
+                        zip.putNextEntry(new ZipEntry(file.getName()));
+                        Files.copy(file.toPath(), zip);
+                        zip.closeEntry();
+                    }
+                }
+            }
+        } else {
+            Files.createDirectories(target);
+            for (final File file : files) {
+                Files.copy(file.toPath(), target.resolve(file.getName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        LOG.info("Exported {} files of the dependency closure to {}", files.size(), target);
+    }
+}
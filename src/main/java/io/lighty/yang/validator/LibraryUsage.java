@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator;
+
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Library files given to the parser split to the files of the modules, which are imported or included by the tested
+ * modules directly or transitively, and the files, which were parsed but not used. Usage is resolved from the
+ * dependency closure of the tested modules and not from the modules of the context, as in simplify mode all the
+ * library files are part of the context.
+ */
+final class LibraryUsage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LibraryUsage.class);
+
+    private final List<Source> used = new ArrayList<>();
+    private final List<Source> unused = new ArrayList<>();
+
+    LibraryUsage(final List<Source> sources, final DependencyGraph graph,
+            final List<RevisionSourceIdentifier> testSources) {
+        final Set<String> names = new HashSet<>();
+        final Set<String> ids = new HashSet<>();
+        for (final RevisionSourceIdentifier testSource : testSources) {
+            graph.findNode(testSource.getName(), testSource.getRevision()).ifPresent(node -> {
+                addNode(node, names, ids);
+                for (final DependencyGraph.Node dependency : graph.getClosure(node, true, true)) {
+                    addNode(dependency, names, ids);
+                }
+            });
+        }
+        for (final Source source : sources) {
+            final SourceIdentifier identifier = source.identifier;
+            final boolean isUsed = identifier.getRevision().isPresent()
+                    ? ids.contains(identifier.getName() + "@" + identifier.getRevision().get())
+                    : names.contains(identifier.getName());
+            if (isUsed) {
+                used.add(source);
+            } else {
+                unused.add(source);
+            }
+        }
+    }
+
+    private static void addNode(final DependencyGraph.Node node, final Set<String> names, final Set<String> ids) {
+        names.add(node.getName());
+        node.getRevision().ifPresent(revision -> ids.add(node.getName() + "@" + revision));
+    }
+
+    List<Source> getUsed() {
+        return Collections.unmodifiableList(used);
+    }
+
+    List<Source> getUnused() {
+        return Collections.unmodifiableList(unused);
+    }
+
+    void print() {
+        print("Library files used by the context", used);
+        print("Library files parsed but not used", unused);
+    }
+
+    private static void print(final String title, final List<Source> sources) {
+        long size = 0;
+        long parseNanos = 0;
+        for (final Source source : sources) {
+            size += source.size;
+            parseNanos += source.parseNanos;
+        }
+        LOG.info("{}: {} files, {} bytes, parsed in {} ms", title, sources.size(), size,
+                TimeUnit.NANOSECONDS.toMillis(parseNanos));
+        for (final Source source : sources) {
+            LOG.info("  {} {} bytes {} ms", source.file, source.size, TimeUnit.NANOSECONDS.toMillis(source.parseNanos));
+        }
+    }
+
+    /**
+     * Library file with its size and the time spent by parsing its text, before the modules are linked together.
+     */
+    static final class Source {
+
+        private final File file;
+        private final SourceIdentifier identifier;
+        private final long size;
+        private final long parseNanos;
+
+        Source(final File file, final SourceIdentifier identifier, final long size, final long parseNanos) {
+            this.file = file;
+            this.identifier = identifier;
+            this.size = size;
+            this.parseNanos = parseNanos;
+        }
+
+        File getFile() {
+            return file;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getParseNanos() {
+            return parseNanos;
+        }
+    }
+}
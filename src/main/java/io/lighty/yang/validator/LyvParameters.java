@@ -62,6 +62,10 @@ public class LyvParameters {
         lyvArgumentParser.addArgument("-r", "--recursive")
                 .action(storeTrue())
                 .help("recursive search of directories specified by -p option.");
+        lyvArgumentParser.addArgument("--library-usage")
+                .action(storeTrue())
+                .help("report library files found in the -p directories, which were used by the parsed modules and"
+                        + " which were parsed but not used, with their sizes and parse times.");
         lyvArgumentParser.addArgument("-p", "--path")
                 .nargs("*")
                 .setDefault(Collections.emptyList())
@@ -69,6 +73,16 @@ public class LyvParameters {
         lyvArgumentParser.addArgument("--check-update-from")
                 .nargs("?")
                 .help("path is a colon (:) separated list of directories to search for yang modules.");
+        lyvArgumentParser.addArgument("--dependents-of")
+                .nargs("?")
+                .help("List modules and submodules found in the -p directories, which import or include given module"
+                        + " directly or through other modules. Module is given by its name, optionally followed by"
+                        + " @revision. Only headers of the yang files are read, the modules are not parsed.");
+        lyvArgumentParser.addArgument("--export-closure")
+                .nargs("?")
+                .help("Copy files of the parsed modules and of all the modules they import or include, directly or"
+                        + " through other modules, to given directory. If the path ends with .zip, the files are"
+                        + " written to a zip file instead.");
         lyvArgumentParser.addArgument("-a", "--parse-all")
                 .nargs("*")
                 .setDefault(Collections.emptyList())
@@ -79,6 +93,20 @@ public class LyvParameters {
                         + " Based on these xml files it will generate simplified yang modules."
                         + "Use with -o or --output to save yang files"
                         + " to specified directory otherwise they will be printed out to standard output");
+        lyvArgumentParser.addArgument("--simplify-usage-file")
+                .nargs("?")
+                .help("File where used schema nodes and hashes of already used xml files are stored between"
+                        + " simplify runs. If the file exists, it is loaded and only xml files not used before"
+                        + " are parsed. Use with -s or --simplify.");
+        lyvArgumentParser.addArgument("--simplify-usage-json")
+                .nargs("?")
+                .help("Export number of occurrences of each used schema node and number of xml files it occurred in"
+                        + " to given json file. Use with -s or --simplify.");
+        lyvArgumentParser.addArgument("--simplify-min-files")
+                .type(Integer.class)
+                .setDefault(0)
+                .help("Keep only schema nodes which occurred in at least given number of xml files."
+                        + " Use with -s or --simplify.");
         lyvArgumentParser.addArgument("yang").nargs("*")
                 .help("Yang models to be parsed");
 
@@ -91,7 +119,7 @@ public class LyvParameters {
     private Namespace validate(final String[] argsToValidate) {
         final Namespace namespace = lyvArgumentParser.parseArgsOrFail(argsToValidate);
         final String pathDoesNotExist = "Path %s does not exist";
-        if (namespace.getList("parse_all").isEmpty()) {
+        if (namespace.getList("parse_all").isEmpty() && namespace.getString("dependents_of") == null) {
             final List<String> yangModules = namespace.getList("yang");
             final String errorMessage = "Did you forget to set the module to parse?";
             Preconditions.checkNotNull(yangModules, errorMessage);
@@ -151,7 +179,9 @@ public class LyvParameters {
             } else {
                 arg.nargs(option.getNargs());
             }
-            arg.choices(option.getChoices());
+            if (option.getChoices() != null) {
+                arg.choices(option.getChoices());
+            }
             if (option.getDefaultArg() != null) {
                 arg.setDefault(option.getDefaultArg());
             }
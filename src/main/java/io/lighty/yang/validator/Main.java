@@ -29,9 +29,13 @@ import io.lighty.yang.validator.formats.JsTree;
 import io.lighty.yang.validator.formats.JsonTree;
 import io.lighty.yang.validator.formats.MultiModulePrinter;
 import io.lighty.yang.validator.formats.NameRevision;
+import io.lighty.yang.validator.formats.RuntimeCost;
 import io.lighty.yang.validator.formats.Tree;
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
 import io.lighty.yang.validator.simplify.SchemaSelector;
 import io.lighty.yang.validator.simplify.SchemaTree;
+import io.lighty.yang.validator.simplify.SchemaUsageFile;
+import io.lighty.yang.validator.simplify.SchemaUsageStatistics;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -45,6 +49,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
@@ -100,7 +105,9 @@ public final class Main {
         final List<String> moduleNameValues = configuration.getModuleNames();
 
         final List<String> parseAllDir = configuration.getParseAll();
-        if (parseAllDir.isEmpty()) {
+        if (configuration.getDependentsOf() != null) {
+            printDependents(configuration);
+        } else if (parseAllDir.isEmpty()) {
             if (moduleNameValues != null) {
                 yangFiles.addAll(moduleNameValues);
             }
@@ -145,6 +152,25 @@ public final class Main {
         MAIN_LOGGER.getLoggerContext().reset();
     }
 
+    private static void printDependents(final Configuration configuration) {
+        final Stopwatch stopWatch = Stopwatch.createStarted();
+        final List<File> files = new ArrayList<>();
+        for (final String dir : initYangDirsPath(configuration.getPath())) {
+            files.addAll(YangContextFactory.getYangFiles(dir, configuration.isRecursive()));
+        }
+        final YangHeaderIndex index = YangHeaderIndex.scan(files);
+        LOG.debug("Indexed headers of {} yang files in {}", index.getHeaders().size(), stopWatch);
+        final Map<YangHeaderIndex.Header, Integer> dependents = index.findDependents(configuration.getDependentsOf());
+        LOG.info("{} is imported or included by {} modules:", configuration.getDependentsOf(), dependents.size());
+        final List<Map.Entry<YangHeaderIndex.Header, Integer>> sorted = new ArrayList<>(dependents.entrySet());
+        sorted.sort(Map.Entry.<YangHeaderIndex.Header, Integer>comparingByValue()
+                .thenComparing(entry -> entry.getKey().getId()));
+        for (final Map.Entry<YangHeaderIndex.Header, Integer> dependent : sorted) {
+            LOG.info("{} {} {}", dependent.getKey().getId(), dependent.getValue() == 1 ? "directly" : "transitively",
+                    dependent.getKey().getFile());
+        }
+    }
+
     private static Configuration getConfiguration(final Format format, final String[] args) {
         final LyvParameters lyvParameters = new LyvParameters(format, args);
         ConfigurationBuilder configurationBuilder = new ConfigurationBuilder();
@@ -167,6 +193,7 @@ public final class Main {
         formats.add(new MultiModulePrinter());
         formats.add(new JsTree());
         formats.add(new Analyzer());
+        formats.add(new RuntimeCost());
         return new Format(formats);
     }
 
@@ -314,12 +341,30 @@ public final class Main {
                 throw new LyvApplicationException("Failed to create SchemaContext", e);
             }
         }
+        // graph is shared by all its users in this run
+        final DependencyGraph dependencyGraph = effectiveModelContext == null ? null
+                : new DependencyGraph(effectiveModelContext);
+        if (config.isLibraryUsage() && dependencyGraph != null) {
+            new LibraryUsage(contextFactory.getLibrarySources(), dependencyGraph,
+                    contextFactory.getTestFilesSourceIdentifiers()).print();
+        }
+        if (config.getExportClosure() != null && dependencyGraph != null) {
+            try {
+                ClosureExport.export(ClosureExport.findFiles(dependencyGraph,
+                        contextFactory.getTestFilesSourceIdentifiers(), contextFactory.getFiles()),
+                        Paths.get(config.getExportClosure()));
+            } catch (final IOException e) {
+                throw new LyvApplicationException("Failed to export dependency closure", e);
+            }
+        }
         SchemaTree schemaTree = null;
         if (config.getCheckUpdateFrom() == null) {
             if (yangFileIsNotEmptyAndHelpIsNotSet) {
-                schemaTree = resolveSchemaTree(config.getSimplify(), effectiveModelContext);
+                schemaTree = resolveSchemaTree(config, effectiveModelContext);
             }
             if (config.getFormat() != null) {
+                format.setContextSources(contextFactory.getContextSources());
+                format.setDependencyGraph(dependencyGraph);
                 format.init(config, effectiveModelContext, contextFactory.getTestFilesSourceIdentifiers(),
                         schemaTree);
                 format.emit();
@@ -350,30 +395,71 @@ public final class Main {
         LOG.debug("Elapsed time: {}", stopWatch);
     }
 
-    private static SchemaTree resolveSchemaTree(final String simplifyDir,
+    private static SchemaTree resolveSchemaTree(final Configuration config,
             final EffectiveModelContext effectiveModelContext) throws LyvApplicationException {
         final SchemaSelector schemaSelector = new SchemaSelector(effectiveModelContext);
+        final String simplifyDir = config.getSimplify();
         if (simplifyDir == null) {
             schemaSelector.noXml();
         } else {
+            SchemaUsageFile usageFile = null;
+            if (config.getSimplifyUsageFile() != null) {
+                usageFile = new SchemaUsageFile(Paths.get(config.getSimplifyUsageFile()));
+                try {
+                    usageFile.load(schemaSelector.getSchemaTree(), effectiveModelContext);
+                } catch (final IOException e) {
+                    throw new LyvApplicationException("Failed to load simplify usage file", e);
+                }
+            }
             try (Stream<Path> path = Files.list(Paths.get(simplifyDir))) {
                 final List<File> xmlFiles = path
                         .map(Path::toFile)
                         .collect(Collectors.toList());
 
-                addXmlFilesToSchemaSelector(schemaSelector, xmlFiles);
+                addXmlFilesToSchemaSelector(schemaSelector, xmlFiles, usageFile);
             } catch (final IOException e) {
                 throw new LyvApplicationException("Failed to open xml files", e);
             }
+            if (usageFile != null) {
+                try {
+                    usageFile.save(schemaSelector.getSchemaTree());
+                } catch (final IOException e) {
+                    throw new LyvApplicationException("Failed to save simplify usage file", e);
+                }
+            }
+            if (config.getSimplifyUsageJson() != null) {
+                try {
+                    SchemaUsageStatistics.exportJson(schemaSelector.getSchemaTree(), effectiveModelContext,
+                            Paths.get(config.getSimplifyUsageJson()));
+                } catch (final IOException e) {
+                    throw new LyvApplicationException("Failed to export simplify usage statistics", e);
+                }
+            }
+            if (config.getSimplifyMinFiles() > 1) {
+                schemaSelector.getSchemaTree().removeChildrenBelowFileCount(config.getSimplifyMinFiles());
+            }
         }
         return schemaSelector.getSchemaTree();
     }
 
-    private static void addXmlFilesToSchemaSelector(final SchemaSelector schemaSelector, final List<File> xmlFiles)
-            throws LyvApplicationException {
+    private static void addXmlFilesToSchemaSelector(final SchemaSelector schemaSelector, final List<File> xmlFiles,
+            final SchemaUsageFile usageFile) throws LyvApplicationException {
         for (final File xmlFile : xmlFiles) {
-            try (FileInputStream fis = new FileInputStream(xmlFile)) {
-                schemaSelector.addXml(fis);
+            try {
+                String fileHash = null;
+                if (usageFile != null) {
+                    fileHash = SchemaUsageFile.hash(xmlFile);
+                    if (usageFile.containsFile(fileHash)) {
+                        LOG.debug("Skipping already used xml file {}", xmlFile);
+                        continue;
+                    }
+                }
+                try (FileInputStream fis = new FileInputStream(xmlFile)) {
+                    schemaSelector.addXml(fis);
+                }
+                if (usageFile != null) {
+                    usageFile.addFile(fileHash);
+                }
             } catch (final IOException | XMLStreamException | URISyntaxException e) {
                 throw new LyvApplicationException(
                         String.format("Failed to fill schema from %s", xmlFile), e);
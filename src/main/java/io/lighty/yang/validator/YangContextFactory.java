@@ -45,6 +45,8 @@ final class YangContextFactory {
     private final List<File> libFiles = new ArrayList<>();
     private final Set<QName> supportedFeatures;
     private final List<RevisionSourceIdentifier> sourceIdentifiers = new ArrayList<>();
+    private final List<YangTextSchemaSource> contextSources = new ArrayList<>();
+    private final List<LibraryUsage.Source> librarySources = new ArrayList<>();
 
     YangContextFactory(final List<String> yangLibDirs, final List<String> yangTestFiles,
             final Set<QName> supportedFeatures, final boolean recursiveSearch) throws IOException {
@@ -81,22 +83,32 @@ final class YangContextFactory {
         }
 
         final List<String> names = new ArrayList<>();
+        contextSources.clear();
         for (final File file : testFiles) {
             final YangTextSchemaSource yangTextSchemaSource = YangTextSchemaSource.forPath(file.toPath());
             names.add(yangTextSchemaSource.getIdentifier().getName());
             parser.addSource(yangTextSchemaSource);
+            contextSources.add(yangTextSchemaSource);
         }
+        librarySources.clear();
         for (final File file : libFiles) {
+            final YangTextSchemaSource yangTextSchemaSource = YangTextSchemaSource.forPath(file.toPath());
+            final long start = System.nanoTime();
             if (useAllFiles) {
-                final YangTextSchemaSource yangTextSchemaSource = YangTextSchemaSource.forPath(file.toPath());
                 final String name = yangTextSchemaSource.getIdentifier().getName();
 
-                if (!names.contains(name)) {
-                    parser.addSource(yangTextSchemaSource);
+                if (names.contains(name)) {
+                    continue;
                 }
+                parser.addSource(yangTextSchemaSource);
+                contextSources.add(yangTextSchemaSource);
             } else {
-                parser.addLibSource(YangTextSchemaSource.forPath(file.toPath()));
+                parser.addLibSource(yangTextSchemaSource);
+                contextSources.add(yangTextSchemaSource);
             }
+            // the text of the source is parsed when it is added, linking is done later for all sources together
+            librarySources.add(new LibraryUsage.Source(file, yangTextSchemaSource.getIdentifier(), file.length(),
+                    System.nanoTime() - start));
         }
 
         final EffectiveModelContext effectiveModelContext = parser.buildEffectiveModel();
@@ -114,6 +126,36 @@ final class YangContextFactory {
         return sourceIdentifiers;
     }
 
+    /**
+     * Get sources given to the parser by the last {@link #createContext(boolean)}.
+     *
+     * @return text sources of the tested and library modules
+     */
+    List<YangTextSchemaSource> getContextSources() {
+        return contextSources;
+    }
+
+    /**
+     * Get library files given to the parser by the last {@link #createContext(boolean)} with the time spent by
+     * adding them to the parser.
+     *
+     * @return library sources
+     */
+    List<LibraryUsage.Source> getLibrarySources() {
+        return librarySources;
+    }
+
+    /**
+     * Get all files found by this factory.
+     *
+     * @return tested files followed by library files
+     */
+    List<File> getFiles() {
+        final List<File> files = new ArrayList<>(testFiles);
+        files.addAll(libFiles);
+        return files;
+    }
+
     private static File findInFiles(final List<File> libFiles, final String yangTestFile) throws IOException {
         for (final File file : libFiles) {
             if (WHITESPACES.matcher(getModelNameFromFile(file)).replaceAll("").equals(yangTestFile)) {
@@ -133,7 +175,7 @@ final class YangContextFactory {
         return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
     }
 
-    private static Collection<File> getYangFiles(final String yangSourcesDirectoryPath, final boolean recursiveSearch) {
+    static Collection<File> getYangFiles(final String yangSourcesDirectoryPath, final boolean recursiveSearch) {
         final File testSourcesDir = new File(yangSourcesDirectoryPath);
 
         if (recursiveSearch) {
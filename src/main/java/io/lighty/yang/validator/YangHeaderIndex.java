@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the headers of yang files. Only the statements before the body of a module are read, without the yangtools
+ * parser, so even large repositories of modules are indexed quickly and also modules, which are not valid, are
+ * indexed.
+ */
+final class YangHeaderIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(YangHeaderIndex.class);
+    private static final String MODULE = "module";
+    private static final String SUBMODULE = "submodule";
+    private static final String IMPORT = "import";
+    private static final String INCLUDE = "include";
+    private static final String BELONGS_TO = "belongs-to";
+    private static final String REVISION = "revision";
+    private static final String REVISION_DATE = "revision-date";
+    private static final Set<String> HEADER_KEYWORDS = Set.of("yang-version", "namespace", "prefix", IMPORT, INCLUDE,
+            BELONGS_TO, "organization", "contact", "description", "reference", REVISION);
+
+    private final List<Header> headers;
+    private final Map<String, List<Dependent>> dependentsByName = new HashMap<>();
+
+    private YangHeaderIndex(final List<Header> headers) {
+        this.headers = headers;
+        final Map<String, List<Header>> byName = headers.stream().collect(Collectors.groupingBy(Header::getName));
+        for (final Header header : headers) {
+            for (final Reference imported : header.imports) {
+                addDependent(imported.name, header, imported.revision);
+            }
+            for (final Reference included : header.includes) {
+                addDependent(included.name, header, included.revision);
+            }
+            if (header.belongsTo != null) {
+                // module depends on its submodules, even on those it does not include in yang 1.1
+                for (final Header owner : byName.getOrDefault(header.belongsTo, Collections.emptyList())) {
+                    addDependent(header.name, owner, header.revision);
+                }
+            }
+        }
+    }
+
+    private void addDependent(final String name, final Header dependent, final String revision) {
+        dependentsByName.computeIfAbsent(name, key -> new ArrayList<>()).add(new Dependent(dependent, revision));
+    }
+
+    /**
+     * Read headers of given files in parallel. Files, which can not be read or which do not contain a module or
+     * a submodule, are skipped.
+     *
+     * @param files yang files
+     * @return index of the headers
+     */
+    static YangHeaderIndex scan(final Collection<File> files) {
+        return new YangHeaderIndex(files.parallelStream()
+                .map(YangHeaderIndex::readHeader)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    List<Header> getHeaders() {
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * Find modules and submodules, which import or include given module directly or through other modules.
+     *
+     * @param module name of the module, optionally followed by {@code @revision}
+     * @return dependent modules with their distance from given module, 1 for direct dependents, in the order of
+     *         the distance
+     */
+    Map<Header, Integer> findDependents(final String module) {
+        final int at = module.indexOf('@');
+        final Deque<Header> pending = new ArrayDeque<>();
+        final Map<Header, Integer> dependents = new LinkedHashMap<>();
+        addDependents(at < 0 ? module : module.substring(0, at), at < 0 ? null : module.substring(at + 1), 1,
+                pending, dependents);
+        while (!pending.isEmpty()) {
+            final Header header = pending.poll();
+            addDependents(header.name, header.revision, dependents.get(header) + 1, pending, dependents);
+        }
+        return dependents;
+    }
+
+    private void addDependents(final String name, final String revision, final int distance,
+            final Deque<Header> pending, final Map<Header, Integer> dependents) {
+        for (final Dependent dependent : dependentsByName.getOrDefault(name, Collections.emptyList())) {
+            if ((revision == null || dependent.revision == null || revision.equals(dependent.revision))
+                    && dependents.putIfAbsent(dependent.header, distance) == null) {
+                pending.add(dependent.header);
+            }
+        }
+    }
+
+    private static Header readHeader(final File file) {
+        final String text;
+        try {
+            text = Files.readString(file.toPath());
+        } catch (final IOException e) {
+            LOG.warn("Can not read yang file {}", file, e);
+            return null;
+        }
+        final Lexer lexer = new Lexer(text);
+        final Token keyword = lexer.next();
+        if (keyword == null || !(MODULE.equals(keyword.text) || SUBMODULE.equals(keyword.text))) {
+            LOG.debug("Skipping {}, it does not contain a module", file);
+            return null;
+        }
+        final Token name = lexer.next();
+        if (name == null || !lexer.isNext('{')) {
+            LOG.debug("Skipping {}, it does not contain a module", file);
+            return null;
+        }
+        final Header header = new Header(file, name.text, SUBMODULE.equals(keyword.text));
+        lexer.next();
+        Token statement = lexer.next();
+        while (statement != null && !statement.isSymbol('}')
+                && (HEADER_KEYWORDS.contains(statement.text) || statement.text.indexOf(':') > 0)) {
+            final String argument = (lexer.isNext(';') || lexer.isNext('{')) ? null : lexer.argument();
+            String revisionDate = null;
+            if (lexer.isNext('{')) {
+                lexer.next();
+                revisionDate = lexer.block();
+            } else {
+                lexer.next();
+            }
+            if (argument != null) {
+                header.addStatement(statement.text, argument, revisionDate);
+            }
+            statement = lexer.next();
+        }
+        return header;
+    }
+
+    /**
+     * Module or submodule with its imports and includes.
+     */
+    static final class Header {
+
+        private final File file;
+        private final String name;
+        private final boolean submodule;
+        private final List<Reference> imports = new ArrayList<>();
+        private final List<Reference> includes = new ArrayList<>();
+        private String belongsTo;
+        private String revision;
+
+        Header(final File file, final String name, final boolean submodule) {
+            this.file = file;
+            this.name = name;
+            this.submodule = submodule;
+        }
+
+        private void addStatement(final String keyword, final String argument, final String revisionDate) {
+            switch (keyword) {
+                case IMPORT:
+                    imports.add(new Reference(argument, revisionDate));
+                    break;
+                case INCLUDE:
+                    includes.add(new Reference(argument, revisionDate));
+                    break;
+                case BELONGS_TO:
+                    belongsTo = argument;
+                    break;
+                case REVISION:
+                    if (revision == null || revision.compareTo(argument) < 0) {
+                        revision = argument;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        File getFile() {
+            return file;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getRevision() {
+            return revision;
+        }
+
+        boolean isSubmodule() {
+            return submodule;
+        }
+
+        String getId() {
+            return revision == null ? name : name + "@" + revision;
+        }
+
+        @Override
+        public String toString() {
+            return getId();
+        }
+    }
+
+    /**
+     * Import or include of a module, optionally limited to one revision.
+     */
+    private static final class Reference {
+
+        private final String name;
+        private final String revision;
+
+        Reference(final String name, final String revision) {
+            this.name = name;
+            this.revision = revision;
+        }
+    }
+
+    /**
+     * Module importing or including other module, optionally limited to one revision of it.
+     */
+    private static final class Dependent {
+
+        private final Header header;
+        private final String revision;
+
+        Dependent(final Header header, final String revision) {
+            this.header = header;
+            this.revision = revision;
+        }
+    }
+
+    private static final class Token {
+
+        private final String text;
+        private final boolean quoted;
+
+        Token(final String text, final boolean quoted) {
+            this.text = text;
+            this.quoted = quoted;
+        }
+
+        boolean isSymbol(final char symbol) {
+            return !quoted && text.length() == 1 && text.charAt(0) == symbol;
+        }
+    }
+
+    /**
+     * Splits yang text to statement keywords, arguments and the {@code ;}, <code>{</code> and <code>}</code>
+     * symbols, skipping whitespaces and comments.
+     */
+    private static final class Lexer {
+
+        private final String text;
+        private int position;
+        private Token peeked;
+
+        Lexer(final String text) {
+            this.text = text;
+        }
+
+        boolean isNext(final char symbol) {
+            final Token token = peek();
+            return token != null && token.isSymbol(symbol);
+        }
+
+        Token next() {
+            final Token token = peek();
+            peeked = null;
+            return token;
+        }
+
+        /**
+         * Read argument of a statement, joining quoted strings concatenated by {@code +}.
+         */
+        String argument() {
+            final Token first = next();
+            if (first == null || !first.quoted) {
+                return first == null ? null : first.text;
+            }
+            final StringBuilder argument = new StringBuilder(first.text);
+            while (peek() != null && !peek().quoted && "+".equals(peek().text)) {
+                next();
+                final Token part = next();
+                if (part != null) {
+                    argument.append(part.text);
+                }
+            }
+            return argument.toString();
+        }
+
+        /**
+         * Skip substatements up to the end of the current block.
+         *
+         * @return argument of the revision-date substatement or null if there is none
+         */
+        String block() {
+            String revisionDate = null;
+            int depth = 1;
+            Token token = next();
+            while (token != null) {
+                if (token.isSymbol('{')) {
+                    depth++;
+                } else if (token.isSymbol('}')) {
+                    depth--;
+                    if (depth == 0) {
+                        break;
+                    }
+                } else if (depth == 1 && !token.quoted && REVISION_DATE.equals(token.text)) {
+                    revisionDate = argument();
+                }
+                token = next();
+            }
+            return revisionDate;
+        }
+
+        private Token peek() {
+            if (peeked == null) {
+                peeked = read();
+            }
+            return peeked;
+        }
+
+        private Token read() {
+            skipWhitespacesAndComments();
+            if (position >= text.length()) {
+                return null;
+            }
+            final char first = text.charAt(position);
+            if (first == ';' || first == '{' || first == '}') {
+                position++;
+                return new Token(String.valueOf(first), false);
+            }
+            if (first == '"' || first == '\'') {
+                return readQuoted(first);
+            }
+            final int start = position;
+            while (position < text.length() && !isSeparator(text.charAt(position))) {
+                position++;
+            }
+            return new Token(text.substring(start, position), false);
+        }
+
+        private Token readQuoted(final char quote) {
+            final StringBuilder value = new StringBuilder();
+            position++;
+            while (position < text.length() && text.charAt(position) != quote) {
+                if (quote == '"' && text.charAt(position) == '\\' && position + 1 < text.length()) {
+                    position++;
+                }
+                value.append(text.charAt(position));
+                position++;
+            }
+            position++;
+            return new Token(value.toString(), true);
+        }
+
+        private static boolean isSeparator(final char character) {
+            return Character.isWhitespace(character) || character == ';' || character == '{' || character == '}';
+        }
+
+        private void skipWhitespacesAndComments() {
+            while (position < text.length()) {
+                if (Character.isWhitespace(text.charAt(position))) {
+                    position++;
+                } else if (text.startsWith("//", position)) {
+                    final int end = text.indexOf('\n', position);
+                    position = end < 0 ? text.length() : end + 1;
+                } else if (text.startsWith("/*", position)) {
+                    final int end = text.indexOf("*/", position + 2);
+                    position = end < 0 ? text.length() : end + 2;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -46,9 +46,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -56,6 +58,7 @@ import net.sourceforge.argparse4j.impl.choice.CollectionArgumentChoice;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerLike;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
@@ -106,7 +109,13 @@ public class CheckUpdateFrom {
     private final SchemaInferenceStack newSchemaIS;
     private final Module oldModule;
     private final Module newModule;
+    private final EffectiveModelContext newContext;
     private final boolean is7950;
+    private final Map<String, IdentitySchemaNode> newIdentities = new HashMap<>();
+    private final Map<String, TypeDefinition<?>> newTypeDefs = new HashMap<>();
+    private final Map<String, RpcDefinition> newRPCs = new HashMap<>();
+    private final Map<String, NotificationDefinition> newNotifications = new HashMap<>();
+    private final Map<List<QName>, AugmentationSchemaNode> newAugmentations = new HashMap<>();
 
     private final Set<CheckUpdateFromErrorRFC6020> errors = new LinkedHashSet<>();
 
@@ -117,8 +126,39 @@ public class CheckUpdateFrom {
         this.oldSchemaIS = SchemaInferenceStack.of(oldContext);
         this.newSchemaIS = SchemaInferenceStack.of(newContext);
         this.newModule = newContext.findModules(newModuleName).iterator().next();
+        this.newContext = newContext;
         this.oldModule = oldContext.findModules(oldModuleName).iterator().next();
         this.is7950 = rfcVersion == 7950;
+        indexNewModule();
+    }
+
+    /**
+     * Index definitions of the new module by their local name and augmentations by their target path without
+     * revisions, so every definition of the old module is matched by a lookup. First definition wins when there are more
+     * of them with the same key.
+     */
+    private void indexNewModule() {
+        for (final IdentitySchemaNode identity : this.newModule.getIdentities()) {
+            this.newIdentities.putIfAbsent(identity.getQName().getLocalName(), identity);
+        }
+        for (final TypeDefinition<?> typeDef : this.newModule.getTypeDefinitions()) {
+            this.newTypeDefs.putIfAbsent(typeDef.getQName().getLocalName(), typeDef);
+        }
+        for (final RpcDefinition rpc : this.newModule.getRpcs()) {
+            this.newRPCs.putIfAbsent(rpc.getQName().getLocalName(), rpc);
+        }
+        for (final NotificationDefinition notification : this.newModule.getNotifications()) {
+            this.newNotifications.putIfAbsent(notification.getQName().getLocalName(), notification);
+        }
+        for (final AugmentationSchemaNode augmentation : this.newModule.getAugmentations()) {
+            this.newAugmentations.putIfAbsent(withoutRevisions(augmentation.getTargetPath()), augmentation);
+        }
+    }
+
+    private static List<QName> withoutRevisions(final SchemaNodeIdentifier path) {
+        return path.getNodeIdentifiers().stream()
+                .map(QName::withoutRevision)
+                .collect(Collectors.toUnmodifiableList());
     }
 
     private String extractModuleName(final String module) {
@@ -152,27 +192,15 @@ public class CheckUpdateFrom {
     }
 
     private void checkIdentities() {
-        final Collection<? extends IdentitySchemaNode> oldIdentities = oldModule.getIdentities();
-        final Collection<? extends IdentitySchemaNode> newIdentities = newModule.getIdentities();
-        for (final IdentitySchemaNode oldIdentity : oldIdentities) {
-            if (isIdentityNotFound(newIdentities, oldIdentity)) {
+        for (final IdentitySchemaNode oldIdentity : oldModule.getIdentities()) {
+            final IdentitySchemaNode newIdentity = this.newIdentities.get(oldIdentity.getQName().getLocalName());
+            if (newIdentity == null) {
                 errors.add(missingIdentityError().updateInformation(DONT_EXISTS, oldIdentity.getQName().toString()));
-            }
-        }
-
-    }
-
-    private boolean isIdentityNotFound(final Collection<? extends IdentitySchemaNode> newIdentities,
-            final IdentitySchemaNode oldIdentity) {
-        boolean identityNotFound = true;
-        for (final IdentitySchemaNode newIdentity : newIdentities) {
-            if (oldIdentity.getQName().getLocalName().equals(newIdentity.getQName().getLocalName())) {
-                identityNotFound = false;
+            } else {
                 checkBaseIdentities(oldIdentity, newIdentity);
-                break;
             }
         }
-        return identityNotFound;
+
     }
 
     private void checkBaseIdentities(final IdentitySchemaNode oldIdentity, final IdentitySchemaNode newIdentity) {
@@ -182,15 +210,12 @@ public class CheckUpdateFrom {
             errors.add(baseIdentityError().updateInformation(newBaseIdentities.toString(),
                     oldBaseIdentities.toString()));
         } else {
+            final Set<String> newBaseNames = new HashSet<>();
+            for (final IdentitySchemaNode newBaseIdentity : newBaseIdentities) {
+                newBaseNames.add(newBaseIdentity.getQName().getLocalName());
+            }
             for (final IdentitySchemaNode oldBaseIdentity : oldBaseIdentities) {
-                boolean identityBaseNotFound = true;
-                for (final IdentitySchemaNode newBaseIdentity : newBaseIdentities) {
-                    if (oldBaseIdentity.getQName().getLocalName().equals(newBaseIdentity.getQName().getLocalName())) {
-                        identityBaseNotFound = false;
-                        break;
-                    }
-                }
-                if (identityBaseNotFound) {
+                if (!newBaseNames.contains(oldBaseIdentity.getQName().getLocalName())) {
                     errors.add(missingBaseIdentityError()
                             .updateInformation(DONT_EXISTS, oldBaseIdentity.getQName().toString()));
                 }
@@ -199,94 +224,70 @@ public class CheckUpdateFrom {
     }
 
     private void checkTypeDefs() {
-        final Collection<? extends TypeDefinition<?>> oldTypeDefs = this.oldModule.getTypeDefinitions();
-        final Collection<? extends TypeDefinition<?>> newTypeDefs = this.newModule.getTypeDefinitions();
-        for (final TypeDefinition<?> oldTypeDef : oldTypeDefs) {
-            for (final TypeDefinition<?> newTypeDef : newTypeDefs) {
-                if (oldTypeDef.getQName().getLocalName().equals(newTypeDef.getQName().getLocalName())) {
-                    checkTypeAware(oldTypeDef, newTypeDef);
-                    checkStatus(oldTypeDef.getStatus(), newTypeDef.getStatus(),
-                            Absolute.of(oldTypeDef.getQName()), Absolute.of(newTypeDef.getQName()));
-                    break;
-                }
+        for (final TypeDefinition<?> oldTypeDef : this.oldModule.getTypeDefinitions()) {
+            final TypeDefinition<?> newTypeDef = this.newTypeDefs.get(oldTypeDef.getQName().getLocalName());
+            if (newTypeDef != null) {
+                checkTypeAware(oldTypeDef, newTypeDef);
+                checkStatus(oldTypeDef.getStatus(), newTypeDef.getStatus(),
+                        Absolute.of(oldTypeDef.getQName()), Absolute.of(newTypeDef.getQName()));
             }
         }
     }
 
     private void checkRPCs() {
-        final Collection<? extends RpcDefinition> oldRPCs = this.oldModule.getRpcs();
-        final Collection<? extends RpcDefinition> newRPCs = this.newModule.getRpcs();
-        for (final RpcDefinition oldRPC : oldRPCs) {
-            this.oldSchemaIS.enterDataTree(QName.create(this.oldModule.getQNameModule(),
-                    oldRPC.getQName().getLocalName()));
-            boolean rpcFound = false;
-            for (final RpcDefinition newRPC : newRPCs) {
-                this.newSchemaIS.enterDataTree(QName.create(this.newModule.getQNameModule(),
-                        newRPC.getQName().getLocalName()));
-                if (oldRPC.equals(newRPC)) {
-                    checkReference(oldRPC.getReference(), newRPC.getReference());
-                    checkStatus(oldRPC.getStatus(), newRPC.getStatus(), this.oldSchemaIS.toSchemaNodeIdentifier(),
-                            this.newSchemaIS.toSchemaNodeIdentifier());
-                    findNodesRecursively(Collections.singletonList(oldRPC.getInput()));
-                    findNodesRecursively(Collections.singletonList(oldRPC.getOutput()));
-                    rpcFound = true;
-                    break;
-                }
-                this.newSchemaIS.exit();
-            }
-            if (!rpcFound) {
+        for (final RpcDefinition oldRPC : this.oldModule.getRpcs()) {
+            this.oldSchemaIS.enterSchemaTree(oldRPC.getQName());
+            final RpcDefinition newRPC = this.newRPCs.get(oldRPC.getQName().getLocalName());
+            if (newRPC == null) {
                 errors.add(missingNodeError().updateInformation("missing rpc node",
                         this.oldSchemaIS.toSchemaNodeIdentifier().toString()));
+            } else {
+                this.newSchemaIS.enterSchemaTree(newRPC.getQName());
+                checkReference(oldRPC.getReference(), newRPC.getReference());
+                checkStatus(oldRPC.getStatus(), newRPC.getStatus(), this.oldSchemaIS.toSchemaNodeIdentifier(),
+                        this.newSchemaIS.toSchemaNodeIdentifier());
+                findNodesRecursively(Collections.singletonList(oldRPC.getInput()));
+                findNodesRecursively(Collections.singletonList(oldRPC.getOutput()));
+                this.newSchemaIS.exit();
             }
             this.oldSchemaIS.exit();
         }
     }
 
     private void checkAugmentations() {
-        final Collection<? extends AugmentationSchemaNode> oldAugmentations = this.oldModule.getAugmentations();
-        final Collection<? extends AugmentationSchemaNode> newAugmentations = this.newModule.getAugmentations();
-        for (final AugmentationSchemaNode oldAug : oldAugmentations) {
-            boolean augFound = false;
-            for (final AugmentationSchemaNode newAug : newAugmentations) {
-                if (oldAug.getTargetPath().equals(newAug.getTargetPath())) {
-                    checkReference(oldAug.getReference(), newAug.getReference());
-                    checkStatus(oldAug.getStatus(), newAug.getStatus(), oldAug.getTargetPath(),
-                            newAug.getTargetPath());
-                    findNodesRecursively(oldAug.getChildNodes());
-                    augFound = true;
-                    break;
-                }
-            }
-            if (!augFound) {
+        for (final AugmentationSchemaNode oldAug : this.oldModule.getAugmentations()) {
+            final AugmentationSchemaNode newAug = this.newAugmentations.get(withoutRevisions(oldAug.getTargetPath()));
+            if (newAug == null) {
                 errors.add(missingNodeError().updateInformation("missing augmentation node",
                         oldAug.getTargetPath().toString()));
+            } else {
+                checkReference(oldAug.getReference(), newAug.getReference());
+                checkStatus(oldAug.getStatus(), newAug.getStatus(), oldAug.getTargetPath(),
+                        newAug.getTargetPath());
+                this.oldSchemaIS.enterSchemaTree(oldAug.getTargetPath());
+                this.newSchemaIS.enterSchemaTree(newAug.getTargetPath());
+                findNodesRecursively(oldAug.getChildNodes());
+                this.oldSchemaIS.clear();
+                this.newSchemaIS.clear();
             }
         }
     }
 
     private void checkNotifications() {
-        final Collection<? extends NotificationDefinition> oldNotifications = this.oldModule.getNotifications();
-        final Collection<? extends NotificationDefinition> newNotifications = this.newModule.getNotifications();
-        for (final NotificationDefinition oldNotification : oldNotifications) {
-            this.oldSchemaIS.enterDataTree(QName.create(this.oldModule.getQNameModule(),
-                    oldNotification.getQName().getLocalName()));
-            boolean notificationFound = false;
-            for (final NotificationDefinition newNotification : newNotifications) {
-                if (oldNotification.equals(newNotification)) {
-                    this.newSchemaIS.enterDataTree(QName.create(this.newModule.getQNameModule(),
-                            newNotification.getQName().getLocalName()));
-                    checkReference(oldNotification.getReference(), newNotification.getReference());
-                    checkStatus(oldNotification.getStatus(), newNotification.getStatus(),
-                            this.oldSchemaIS.toSchemaNodeIdentifier(), this.newSchemaIS.toSchemaNodeIdentifier());
-                    findNodesRecursively(oldNotification.getChildNodes());
-                    notificationFound = true;
-                    this.newSchemaIS.exit();
-                    break;
-                }
-            }
-            if (!notificationFound) {
+        for (final NotificationDefinition oldNotification : this.oldModule.getNotifications()) {
+            this.oldSchemaIS.enterSchemaTree(oldNotification.getQName());
+            final NotificationDefinition newNotification =
+                    this.newNotifications.get(oldNotification.getQName().getLocalName());
+            if (newNotification == null) {
                 errors.add(missingNodeError().updateInformation("missing notification node",
                         this.oldSchemaIS.toSchemaNodeIdentifier().toString()));
+            } else {
+                this.newSchemaIS.enterSchemaTree(newNotification.getQName());
+                checkReference(oldNotification.getReference(), newNotification.getReference());
+                checkStatus(oldNotification.getStatus(), newNotification.getStatus(),
+                        this.oldSchemaIS.toSchemaNodeIdentifier(), this.newSchemaIS.toSchemaNodeIdentifier());
+                findNodesRecursively(oldNotification.getChildNodes());
+                this.newSchemaIS.exit();
             }
             this.oldSchemaIS.exit();
         }
@@ -682,12 +683,12 @@ public class CheckUpdateFrom {
     }
 
     private DataSchemaNode getNodeFromNewModule(final Absolute nodeAbsolutePath) {
-        final List<QName> finalList = new LinkedList<>();
+        final List<QName> finalList = new ArrayList<>();
         for (final QName qname : nodeAbsolutePath.getNodeIdentifiers()) {
-            finalList.add(QName.create(newModule.getNamespace(), newModule.getRevision(), qname.getLocalName()));
+            finalList.add(toNewQName(qname));
         }
 
-        final Optional<DataSchemaNode> dataChildByName = newModule.findDataTreeChild(finalList);
+        final Optional<DataSchemaNode> dataChildByName = findNewNode(finalList);
         if (dataChildByName.isPresent()) {
             return dataChildByName.get();
         } else {
@@ -697,6 +698,44 @@ public class CheckUpdateFrom {
         }
     }
 
+    /**
+     * Map name from the old schema context to the new one. Names of the old module are mapped to the new module,
+     * names of other modules, like targets of augmentations, to the latest revision of the module with the same
+     * namespace in the new schema context.
+     */
+    private QName toNewQName(final QName qname) {
+        if (qname.getModule().equals(oldModule.getQNameModule())) {
+            return QName.create(newModule.getQNameModule(), qname.getLocalName());
+        }
+        return this.newContext.findModules(qname.getNamespace()).stream()
+                .findFirst()
+                .map(module -> QName.create(module.getQNameModule(), qname.getLocalName()))
+                .orElse(qname);
+    }
+
+    /**
+     * Find node of the new module on given path. Nodes inside of rpcs and notifications are resolved from the indexed
+     * rpcs and notifications, other nodes from the data tree of the new schema context, so nodes added to other
+     * modules by augmentations are found too.
+     */
+    private Optional<DataSchemaNode> findNewNode(final List<QName> path) {
+        final QName root = path.get(0);
+        if (path.size() > 1 && root.getModule().equals(newModule.getQNameModule())) {
+            final RpcDefinition rpc = this.newRPCs.get(root.getLocalName());
+            if (rpc != null) {
+                final ContainerLike operation = rpc.getInput().getQName().getLocalName()
+                        .equals(path.get(1).getLocalName()) ? rpc.getInput() : rpc.getOutput();
+                return path.size() == 2 ? Optional.of(operation)
+                        : operation.findDataTreeChild(path.subList(2, path.size()));
+            }
+            final NotificationDefinition notification = this.newNotifications.get(root.getLocalName());
+            if (notification != null) {
+                return notification.findDataTreeChild(path.subList(1, path.size()));
+            }
+        }
+        return this.newContext.findDataTreeChild(path);
+    }
+
     private void checkRevision() {
         final Optional<Revision> newOptionalRevision = this.newModule.getRevision();
         final Optional<Revision> oldOptionalRevision = this.oldModule.getRevision();
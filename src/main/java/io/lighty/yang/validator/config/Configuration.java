@@ -16,9 +16,18 @@ public class Configuration {
     private String output;
     private String format;
     private String simplify;
+    private String simplifyUsageFile;
+    private String simplifyUsageJson;
+    private int simplifyMinFiles;
     private String checkUpdateFrom;
+    private String dependentsOf;
+    private String exportClosure;
     private boolean debug;
     private boolean quiet;
+    private boolean verify;
+    private boolean libraryUsage;
+    private boolean analyzeModules;
+    private boolean costMeasureHeap;
     private boolean recursive;
     private List<String> moduleNames;
     private List<String> path;
@@ -28,6 +37,8 @@ public class Configuration {
     private DependConfiguration dependConfiguration;
     private CheckUpdateFromConfiguration checkUpdateFromConfiguration;
     private TreeConfiguration treeConfiguration;
+    private JsonTreeConfiguration jsonTreeConfiguration;
+    private JsTreeConfiguration jsTreeConfiguration;
 
     Configuration() {
         //noop
@@ -37,10 +48,26 @@ public class Configuration {
         this.checkUpdateFrom = newCheckUpdateFrom;
     }
 
+    void setDependentsOf(final String dependentsOf) {
+        this.dependentsOf = dependentsOf;
+    }
+
+    void setExportClosure(final String exportClosure) {
+        this.exportClosure = exportClosure;
+    }
+
     void setCheckUpdateFromConfiguration(final CheckUpdateFromConfiguration checkUpdateFromConfiguration) {
         this.checkUpdateFromConfiguration = checkUpdateFromConfiguration;
     }
 
+    void setJsonTreeConfiguration(final JsonTreeConfiguration jsonTreeConfiguration) {
+        this.jsonTreeConfiguration = jsonTreeConfiguration;
+    }
+
+    void setJsTreeConfiguration(final JsTreeConfiguration jsTreeConfiguration) {
+        this.jsTreeConfiguration = jsTreeConfiguration;
+    }
+
     void setDependConfiguration(final DependConfiguration dependConfiguration) {
         this.dependConfiguration = dependConfiguration;
     }
@@ -53,6 +80,18 @@ public class Configuration {
         this.simplify = simplify;
     }
 
+    void setSimplifyUsageFile(final String simplifyUsageFile) {
+        this.simplifyUsageFile = simplifyUsageFile;
+    }
+
+    void setSimplifyUsageJson(final String simplifyUsageJson) {
+        this.simplifyUsageJson = simplifyUsageJson;
+    }
+
+    void setSimplifyMinFiles(final int simplifyMinFiles) {
+        this.simplifyMinFiles = simplifyMinFiles;
+    }
+
     <E> void setModuleNames(final List<E> moduleNames) {
         this.moduleNames = (List<String>) moduleNames;
     }
@@ -61,6 +100,22 @@ public class Configuration {
         this.quiet = quiet;
     }
 
+    void setVerify(final boolean verify) {
+        this.verify = verify;
+    }
+
+    void setLibraryUsage(final boolean libraryUsage) {
+        this.libraryUsage = libraryUsage;
+    }
+
+    void setAnalyzeModules(final boolean analyzeModules) {
+        this.analyzeModules = analyzeModules;
+    }
+
+    void setCostMeasureHeap(final boolean costMeasureHeap) {
+        this.costMeasureHeap = costMeasureHeap;
+    }
+
     <E> void setParseAll(final List<E> parseAll) {
         this.parseAll = (List<String>) parseAll;
     }
@@ -113,6 +168,22 @@ public class Configuration {
         return quiet;
     }
 
+    public boolean isVerify() {
+        return verify;
+    }
+
+    public boolean isLibraryUsage() {
+        return libraryUsage;
+    }
+
+    public boolean isAnalyzeModules() {
+        return analyzeModules;
+    }
+
+    public boolean isCostMeasureHeap() {
+        return costMeasureHeap;
+    }
+
     public List<String> getPath() {
         return path;
     }
@@ -133,6 +204,18 @@ public class Configuration {
         return simplify;
     }
 
+    public String getSimplifyUsageFile() {
+        return simplifyUsageFile;
+    }
+
+    public String getSimplifyUsageJson() {
+        return simplifyUsageJson;
+    }
+
+    public int getSimplifyMinFiles() {
+        return simplifyMinFiles;
+    }
+
     public List<String> getParseAll() {
         return parseAll;
     }
@@ -145,10 +228,26 @@ public class Configuration {
         return treeConfiguration;
     }
 
+    public JsonTreeConfiguration getJsonTreeConfiguration() {
+        return jsonTreeConfiguration;
+    }
+
+    public JsTreeConfiguration getJsTreeConfiguration() {
+        return jsTreeConfiguration;
+    }
+
     public String getCheckUpdateFrom() {
         return checkUpdateFrom;
     }
 
+    public String getDependentsOf() {
+        return dependentsOf;
+    }
+
+    public String getExportClosure() {
+        return exportClosure;
+    }
+
     public CheckUpdateFromConfiguration getCheckUpdateFromConfiguration() {
         return checkUpdateFromConfiguration;
     }
@@ -8,6 +8,7 @@
 package io.lighty.yang.validator.config;
 
 import io.lighty.yang.validator.LyvParameters;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,18 +26,48 @@ public class ConfigurationBuilder {
     public ConfigurationBuilder setTreeConfiguration(final int treeDepth, final int lineLength,
             final boolean help, final boolean modulePrefix,
             final boolean treePrefixMainModule) {
+        return setTreeConfiguration(treeDepth, lineLength, help, modulePrefix, treePrefixMainModule,
+                Collections.emptyList());
+    }
+
+    public ConfigurationBuilder setTreeConfiguration(final int treeDepth, final int lineLength,
+            final boolean help, final boolean modulePrefix,
+            final boolean treePrefixMainModule, final List<String> treePaths) {
         final TreeConfiguration treeConfiguration = new TreeConfiguration(treeDepth, lineLength, help,
-                modulePrefix, treePrefixMainModule);
+                modulePrefix, treePrefixMainModule, treePaths);
         this.configuration.setTreeConfiguration(treeConfiguration);
         return this;
     }
 
+    public ConfigurationBuilder setJsonTreeConfiguration(final String style) {
+        return setJsonTreeConfiguration(style, false);
+    }
+
+    public ConfigurationBuilder setJsonTreeConfiguration(final String style, final boolean definitions) {
+        this.configuration.setJsonTreeConfiguration(new JsonTreeConfiguration(style, definitions));
+        return this;
+    }
+
+    public ConfigurationBuilder setJsTreeConfiguration(final String lazyDirectory) {
+        this.configuration.setJsTreeConfiguration(new JsTreeConfiguration(lazyDirectory));
+        return this;
+    }
+
     public ConfigurationBuilder setDependConfiguration(final boolean moduleDependentsOnly,
             final boolean moduleImportsOnly,
             final boolean moduleIncludesOnly,
             final Set<String> excludedModuleNames) {
+        return setDependConfiguration(moduleDependentsOnly, moduleImportsOnly, moduleIncludesOnly,
+                excludedModuleNames, null);
+    }
+
+    public ConfigurationBuilder setDependConfiguration(final boolean moduleDependentsOnly,
+            final boolean moduleImportsOnly,
+            final boolean moduleIncludesOnly,
+            final Set<String> excludedModuleNames,
+            final String graphFormat) {
         final DependConfiguration dependConfiguration = new DependConfiguration(moduleDependentsOnly,
-                moduleImportsOnly, moduleIncludesOnly, excludedModuleNames);
+                moduleImportsOnly, moduleIncludesOnly, excludedModuleNames, graphFormat);
         this.configuration.setDependConfiguration(dependConfiguration);
         return this;
     }
@@ -46,6 +77,16 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    public ConfigurationBuilder setDependentsOf(final String dependentsOf) {
+        this.configuration.setDependentsOf(dependentsOf);
+        return this;
+    }
+
+    public ConfigurationBuilder setExportClosure(final String exportClosure) {
+        this.configuration.setExportClosure(exportClosure);
+        return this;
+    }
+
     public ConfigurationBuilder setCheckUpdateFromConfiguration(final int rfcVersion,
             final List<String> checkUpdateFromPath) {
         final CheckUpdateFromConfiguration checkUpdateFromConfiguration =
@@ -79,6 +120,26 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    public ConfigurationBuilder setVerify(final boolean verify) {
+        this.configuration.setVerify(verify);
+        return this;
+    }
+
+    public ConfigurationBuilder setLibraryUsage(final boolean libraryUsage) {
+        this.configuration.setLibraryUsage(libraryUsage);
+        return this;
+    }
+
+    public ConfigurationBuilder setAnalyzeModules(final boolean analyzeModules) {
+        this.configuration.setAnalyzeModules(analyzeModules);
+        return this;
+    }
+
+    public ConfigurationBuilder setCostMeasureHeap(final boolean costMeasureHeap) {
+        this.configuration.setCostMeasureHeap(costMeasureHeap);
+        return this;
+    }
+
     public ConfigurationBuilder setPath(final List<String> path) {
         this.configuration.setPath(path);
         return this;
@@ -104,6 +165,21 @@ public class ConfigurationBuilder {
         return this;
     }
 
+    public ConfigurationBuilder setSimplifyUsageFile(final String simplifyUsageFile) {
+        this.configuration.setSimplifyUsageFile(simplifyUsageFile);
+        return this;
+    }
+
+    public ConfigurationBuilder setSimplifyUsageJson(final String simplifyUsageJson) {
+        this.configuration.setSimplifyUsageJson(simplifyUsageJson);
+        return this;
+    }
+
+    public ConfigurationBuilder setSimplifyMinFiles(final int simplifyMinFiles) {
+        this.configuration.setSimplifyMinFiles(simplifyMinFiles);
+        return this;
+    }
+
     public ConfigurationBuilder setParseAll(final List<String> parseAll) {
         this.configuration.setParseAll(parseAll);
         return this;
@@ -116,28 +192,42 @@ public class ConfigurationBuilder {
         this.configuration.setOutput(namespace.getString("output"));
         this.configuration.setDebug(namespace.getBoolean("debug"));
         this.configuration.setQuiet(namespace.getBoolean("quiet"));
+        this.configuration.setVerify(namespace.getBoolean("verify"));
+        this.configuration.setLibraryUsage(namespace.getBoolean("library_usage"));
+        this.configuration.setAnalyzeModules(namespace.getBoolean("analyze_modules"));
+        this.configuration.setCostMeasureHeap(namespace.getBoolean("cost_measure_heap"));
         this.configuration.setPath(namespace.getList("path"));
         this.configuration.setYangModules(namespace.getList("yang"));
         this.configuration.setRecursive(namespace.getBoolean("recursive"));
         this.configuration.setFormat(namespace.getString("format"));
         this.configuration.setSimplify(namespace.getString("simplify"));
+        this.configuration.setSimplifyUsageFile(namespace.getString("simplify_usage_file"));
+        this.configuration.setSimplifyUsageJson(namespace.getString("simplify_usage_json"));
+        this.configuration.setSimplifyMinFiles(namespace.getInt("simplify_min_files"));
         this.configuration.setParseAll(namespace.getList("parse_all"));
         final boolean singleModuledependentsOnly = namespace.getBoolean("module_depends_only");
         final boolean modulesOnly = namespace.getBoolean("modules_only");
         final boolean submodulesOnly = namespace.getBoolean("submodules_only");
         final Set<String> excludedModuleNames = new HashSet<>(namespace.getList("exclude_module_name"));
         final DependConfiguration dependConfiguration = new DependConfiguration(singleModuledependentsOnly,
-                modulesOnly, submodulesOnly, excludedModuleNames);
+                modulesOnly, submodulesOnly, excludedModuleNames, namespace.getString("depend_graph"));
         final int treeDepth = namespace.getInt("tree_depth");
         final int lineLength = namespace.getInt("tree_line_length");
         final boolean treeHelp = namespace.getBoolean("tree_help");
         final boolean treeModulePrefix = namespace.getBoolean("tree_prefix_module");
         final boolean treePrefixMainModule = namespace.getBoolean("tree_prefix_main_module");
+        final List<String> treePaths = namespace.getList("tree_path");
         final TreeConfiguration treeConfiguration = new TreeConfiguration(treeDepth, lineLength, treeHelp,
-                treeModulePrefix, treePrefixMainModule);
+                treeModulePrefix, treePrefixMainModule, treePaths);
         this.configuration.setTreeConfiguration(treeConfiguration);
+        final JsonTreeConfiguration jsonTreeConfiguration = new JsonTreeConfiguration(
+                namespace.getString("json_tree_style"), namespace.getBoolean("json_tree_definitions"));
+        this.configuration.setJsonTreeConfiguration(jsonTreeConfiguration);
+        this.configuration.setJsTreeConfiguration(new JsTreeConfiguration(namespace.getString("jstree_lazy")));
         this.configuration.setDependConfiguration(dependConfiguration);
         this.configuration.setUpdateFrom(namespace.getString("check_update_from"));
+        this.configuration.setDependentsOf(namespace.getString("dependents_of"));
+        this.configuration.setExportClosure(namespace.getString("export_closure"));
         final CheckUpdateFromConfiguration checkUpdateFromConfiguration = new CheckUpdateFromConfiguration(
                 namespace.getInt("rfc_version"), namespace.getList("check_update_from_path"));
         this.configuration.setCheckUpdateFromConfiguration(checkUpdateFromConfiguration);
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.config;
+
+public class JsTreeConfiguration {
+
+    private final String lazyDirectory;
+
+    JsTreeConfiguration(final String lazyDirectory) {
+        this.lazyDirectory = lazyDirectory;
+    }
+
+    public String getLazyDirectory() {
+        return lazyDirectory;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.config;
+
+public class JsonTreeConfiguration {
+
+    private final String style;
+    private final boolean definitions;
+
+    JsonTreeConfiguration(final String style, final boolean definitions) {
+        this.style = style;
+        this.definitions = definitions;
+    }
+
+    public boolean isDefinitions() {
+        return definitions;
+    }
+
+    public String getStyle() {
+        return style;
+    }
+}
@@ -7,6 +7,8 @@
  */
 package io.lighty.yang.validator.config;
 
+import java.util.List;
+
 public class TreeConfiguration {
 
     private final int treeDepth;
@@ -14,14 +16,20 @@ public class TreeConfiguration {
     private final boolean help;
     private final boolean modulePrefix;
     private final boolean prefixMainModule;
+    private final List<String> treePaths;
 
     TreeConfiguration(final int treeDepth, final int lineLength, final boolean help, final boolean modulePrefix,
-            final boolean prefixMainModule) {
+            final boolean prefixMainModule, final List<String> treePaths) {
         this.treeDepth = treeDepth;
         this.lineLength = lineLength;
         this.help = help;
         this.modulePrefix = modulePrefix;
         this.prefixMainModule = prefixMainModule;
+        this.treePaths = treePaths;
+    }
+
+    public List<String> getTreePaths() {
+        return treePaths;
     }
 
     public boolean isPrefixMainModule() {
@@ -9,16 +9,34 @@ package io.lighty.yang.validator.formats;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.lighty.yang.validator.GroupArguments;
+import io.lighty.yang.validator.formats.utility.ModuleTreeVisitor;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import net.sourceforge.argparse4j.impl.choice.CollectionArgumentChoice;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.ModuleLike;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,15 +45,23 @@ public class Analyzer extends FormatPlugin {
     private static final Logger LOG = LoggerFactory.getLogger(Analyzer.class);
     private static final String HELP_NAME = "analyze";
     private static final String HELP_DESCRIPTION = "return count of each keyword";
-    private final Map<String, Integer> counter = new HashMap<>();
 
     @Override
     void emitFormat() {
         final Set<DeclaredStatement<?>> statements = getRecursivelyDeclaredStatements(this.schemaContext.getModules());
-        for (final DeclaredStatement<?> declaredStatement : statements) {
-            analyzeSubstatement(declaredStatement);
+        // each module and submodule is counted on its own thread, counters are merged afterwards
+        final Map<DeclaredStatement<?>, Map<String, Integer>> counters = statements.parallelStream()
+                .collect(Collectors.toMap(Function.identity(), Analyzer::countKeywords));
+        final Map<String, Integer> counter = new TreeMap<>();
+        counters.values().forEach(moduleCounter -> merge(counter, moduleCounter));
+        printOut(counter);
+        if (this.configuration.isAnalyzeModules()) {
+            final List<ModuleReport> reports = this.schemaContext.getModules().parallelStream()
+                    .map(module -> new ModuleReport(module, counters))
+                    .sorted(Comparator.comparing(report -> report.id))
+                    .collect(Collectors.toList());
+            reports.forEach(ModuleReport::print);
         }
-        printOut();
     }
 
     private Set<DeclaredStatement<?>> getRecursivelyDeclaredStatements(final Collection<? extends ModuleLike> modules) {
@@ -51,27 +77,38 @@ public class Analyzer extends FormatPlugin {
         return declaredStatements;
     }
 
-    private boolean submodulesAreNotEmpty(final Collection<? extends ModuleLike> submodules) {
+    private static boolean submodulesAreNotEmpty(final Collection<? extends ModuleLike> submodules) {
         return submodules != null && !submodules.isEmpty();
     }
 
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
-    private void printOut() {
-        for (final Map.Entry<String, Integer> entry : new TreeMap<>(this.counter).entrySet()) {
+    private static void printOut(final Map<String, Integer> counter) {
+        for (final Map.Entry<String, Integer> entry : counter.entrySet()) {
             LOG.info("{}: {}", entry.getKey(), entry.getValue());
         }
     }
 
-    private void analyzeSubstatement(final DeclaredStatement<?> subStatement) {
+    private static Map<String, Integer> countKeywords(final DeclaredStatement<?> statement) {
+        final Map<String, Integer> counter = new HashMap<>();
+        analyzeSubstatement(statement, counter);
+        return counter;
+    }
+
+    private static void analyzeSubstatement(final DeclaredStatement<?> subStatement,
+            final Map<String, Integer> counter) {
         final String name = subStatement.statementDefinition().getStatementName().getLocalName();
         counter.compute(name, (key, val) -> (val == null) ? 1 : val + 1);
         final Collection<? extends DeclaredStatement<?>> substatements = subStatement.declaredSubstatements();
         for (final DeclaredStatement<?> nextSubstatement : substatements) {
-            analyzeSubstatement(nextSubstatement);
+            analyzeSubstatement(nextSubstatement, counter);
         }
     }
 
+    private static void merge(final Map<String, Integer> target, final Map<String, Integer> counter) {
+        counter.forEach((name, count) -> target.merge(name, count, Integer::sum));
+    }
+
     @Override
     Help getHelp() {
         return new Help(HELP_NAME, HELP_DESCRIPTION);
@@ -79,11 +116,113 @@ public class Analyzer extends FormatPlugin {
 
     @Override
     public Optional<GroupArguments> getGroupArguments() {
-        // TODO make option to iterate through multiple modules and give output only from those modules not overlaping
         // TODO make option print as html table
         // TODO make option to sort output alphabetically or by number of occurrences
         // TODO make option to ignore some specific keywords
         // TODO make option to search only for some specific keywords
-        return Optional.empty();
+        final GroupArguments groupArguments = new GroupArguments(HELP_NAME,
+                "Analyze format based arguments: ");
+        groupArguments.addOption("Print also keyword counts of each module together with its submodules and size"
+                        + " metrics of its schema tree: number of data nodes, maximal depth, maximal number of"
+                        + " children of a node, grouping expansion factor and number of leafrefs.",
+                Collections.singletonList("--analyze-modules"), true, null, null,
+                new CollectionArgumentChoice<>(Collections.emptyList()), Boolean.TYPE);
+        return Optional.of(groupArguments);
+    }
+
+    /**
+     * Keyword counts and size metrics of one module. Data nodes of the module are counted in the schema tree with all
+     * groupings expanded, as visited by {@link ModuleTreeVisitor}, with notifications and declared inputs and outputs
+     * of operations counted as data nodes. Grouping expansion factor is number of nodes added by uses divided by number
+     * of nodes defined in the groupings of the module.
+     */
+    private static final class ModuleReport extends ModuleTreeVisitor {
+
+        private final String id;
+        private final Map<String, Integer> counter = new TreeMap<>();
+        private int dataNodes;
+        private int maxDepth;
+        private int maxFanOut;
+        private int usesNodes;
+        private int groupingNodes;
+        private int leafrefs;
+
+        ModuleReport(final Module module, final Map<DeclaredStatement<?>, Map<String, Integer>> counters) {
+            super(module);
+            this.id = module.getName() + module.getRevision().map(revision -> "@" + revision).orElse("");
+            addCounters(module, counters);
+            visitModule();
+            for (final GroupingDefinition grouping : module.getGroupings()) {
+                groupingNodes += countNodes(grouping.getChildNodes());
+            }
+        }
+
+        private void addCounters(final ModuleLike module,
+                final Map<DeclaredStatement<?>, Map<String, Integer>> counters) {
+            merge(counter, counters.getOrDefault(((EffectiveStatement<?, ?>) module).getDeclared(),
+                    Collections.emptyMap()));
+            for (final ModuleLike submodule : module.getSubmodules()) {
+                addCounters(submodule, counters);
+            }
+        }
+
+        @Override
+        protected void enterNode(final SchemaNode node, final int depth) {
+            dataNodes++;
+            maxDepth = Math.max(maxDepth, depth);
+            if (node instanceof DataSchemaNode && ((DataSchemaNode) node).isAddedByUses()) {
+                usesNodes++;
+            }
+            if (node instanceof TypedDataSchemaNode && isLeafref(((TypedDataSchemaNode) node).getType())) {
+                leafrefs++;
+            }
+        }
+
+        @Override
+        protected void exitChildren(final int count) {
+            maxFanOut = Math.max(maxFanOut, count);
+        }
+
+        private static boolean isLeafref(final TypeDefinition<?> type) {
+            if (type instanceof LeafrefTypeDefinition) {
+                return true;
+            }
+            if (type instanceof UnionTypeDefinition) {
+                for (final TypeDefinition<?> member : ((UnionTypeDefinition) type).getTypes()) {
+                    if (isLeafref(member)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static int countNodes(final Collection<? extends DataSchemaNode> children) {
+            int count = children.size();
+            for (final DataSchemaNode child : children) {
+                if (child instanceof ChoiceSchemaNode) {
+                    count += countNodes(((ChoiceSchemaNode) child).getCases());
+                } else if (child instanceof DataNodeContainer) {
+                    count += countNodes(((DataNodeContainer) child).getChildNodes());
+                }
+            }
+            return count;
+        }
+
+        @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
+                            justification = "Valid output from LYV is dependent on Logback output")
+        void print() {
+            LOG.info("");
+            LOG.info("module {}:", id);
+            LOG.info("  data nodes: {}", dataNodes);
+            LOG.info("  max depth: {}", maxDepth);
+            LOG.info("  max fan-out: {}", maxFanOut);
+            LOG.info("  grouping expansion factor: {}", groupingNodes == 0 ? "-"
+                    : String.format(Locale.ENGLISH, "%.2f", (double) usesNodes / groupingNodes));
+            LOG.info("  leafrefs: {}", leafrefs);
+            for (final Map.Entry<String, Integer> entry : counter.entrySet()) {
+                LOG.info("  {}: {}", entry.getKey(), entry.getValue());
+            }
+        }
     }
 }
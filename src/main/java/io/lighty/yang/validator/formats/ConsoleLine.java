@@ -14,11 +14,9 @@ import java.util.Map;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.stmt.IfFeatureStatement;
-import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
 
 public class ConsoleLine extends Line {
 
@@ -32,12 +30,13 @@ public class ConsoleLine extends Line {
         this.isConnected = isConnected;
     }
 
-    protected void resolveFlag(SchemaNode node, final Absolute absolutePath, EffectiveModelContext context) {
+    @Override
+    protected void resolveFlag(final SchemaNode node, final boolean isInNotification) {
         if (node instanceof CaseSchemaNode) {
             this.flag = "";
         } else if (node instanceof NotificationDefinition) {
             this.flag = "-n";
-        } else if (context.findNotification(absolutePath.firstNodeIdentifier()).isPresent()) {
+        } else if (isInNotification) {
             this.flag = RO;
         } else if (this.inputOutput == RpcInputOutput.INPUT) {
             this.flag = "-w";
@@ -53,9 +52,20 @@ public class ConsoleLine extends Line {
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
+        appendTo(builder);
+        return builder.toString();
+    }
+
+    /**
+     * Append text of this line to the given builder. The connection flags are read at this point, so the line has to
+     * be appended before they are changed.
+     *
+     * @param builder builder to append the line to
+     */
+    void appendTo(final StringBuilder builder) {
         builder.append("  ");
-        builder.append(getConnectionStringBuilder());
-        builder.append(getStatusStringBuilder());
+        appendConnection(builder);
+        appendStatus(builder);
         builder.append("--").append(flag);
         builder.append(" ");
         if (isChoice) {
@@ -66,7 +76,7 @@ public class ConsoleLine extends Line {
             builder.append(nodeName);
         }
         if (isListOrLeafList) {
-            builder.append(getStringBuilderWithListOrLeafList());
+            appendListOrLeafList(builder);
         } else if (!isMandatory) {
             builder.append('?');
         }
@@ -77,13 +87,12 @@ public class ConsoleLine extends Line {
         }
         final Iterator<IfFeatureStatement> ifFeaturesIterator = ifFeatures.iterator();
         if (ifFeaturesIterator.hasNext()) {
-            builder.append(getBuilderWithRestOfTheFeature(ifFeaturesIterator));
+            appendFeatures(builder, ifFeaturesIterator);
         }
-        return builder.toString();
     }
 
-    private StringBuilder getBuilderWithRestOfTheFeature(final Iterator<IfFeatureStatement> ifFeaturesIterator) {
-        final StringBuilder builder = new StringBuilder();
+    private static void appendFeatures(final StringBuilder builder,
+            final Iterator<IfFeatureStatement> ifFeaturesIterator) {
         builder.append(" {");
         while (ifFeaturesIterator.hasNext()) {
             builder.append(ifFeaturesIterator.next().rawArgument());
@@ -92,11 +101,9 @@ public class ConsoleLine extends Line {
             }
         }
         builder.append("}?");
-        return builder;
     }
 
-    private StringBuilder getStringBuilderWithListOrLeafList() {
-        final StringBuilder builder = new StringBuilder();
+    private void appendListOrLeafList(final StringBuilder builder) {
         builder.append('*');
         if (!keys.isEmpty()) {
             builder.append(" [");
@@ -109,11 +116,9 @@ public class ConsoleLine extends Line {
             }
             builder.append(']');
         }
-        return builder;
     }
 
-    private StringBuilder getStatusStringBuilder() {
-        final StringBuilder builder = new StringBuilder();
+    private void appendStatus(final StringBuilder builder) {
         switch (status) {
             case CURRENT:
                 builder.append('+');
@@ -127,11 +132,9 @@ public class ConsoleLine extends Line {
             default:
                 break;
         }
-        return builder;
     }
 
-    private StringBuilder getConnectionStringBuilder() {
-        final StringBuilder builder = new StringBuilder();
+    private void appendConnection(final StringBuilder builder) {
         for (final boolean connection : isConnected) {
             if (connection) {
                 builder.append('|');
@@ -140,6 +143,5 @@ public class ConsoleLine extends Line {
             }
             builder.append("  ");
         }
-        return builder;
     }
-}
\ No newline at end of file
+}
@@ -11,16 +11,16 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.lighty.yang.validator.GroupArguments;
 import io.lighty.yang.validator.config.DependConfiguration;
 import io.lighty.yang.validator.exceptions.NotFoundException;
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
+import io.lighty.yang.validator.formats.utility.JsonWriter;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import net.sourceforge.argparse4j.impl.choice.CollectionArgumentChoice;
-import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.api.Module;
-import org.opendaylight.yangtools.yang.model.api.ModuleImport;
-import org.opendaylight.yangtools.yang.model.api.ModuleLike;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,28 +38,40 @@ public class Depends extends FormatPlugin {
     private static final String NON_RECURSIVE = "(not recursively)";
     private static final String ONLY_MODULES = "(Imports only)";
     private static final String ONLY_SUBMODULES = "(Submodules only)";
-
-    private final Set<String> modules = new HashSet<>();
+    private static final String DOT = "dot";
+    private static final String JSON = "json";
 
     @Override
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
     public void emitFormat() {
         final DependConfiguration dependConfiguration = this.configuration.getDependConfiguration();
+        final DependencyGraph graph = this.dependencyGraph;
+        if (DOT.equals(dependConfiguration.getGraphFormat())) {
+            graph.writeDot(Depends::printLine);
+            return;
+        }
+        if (JSON.equals(dependConfiguration.getGraphFormat())) {
+            graph.writeJson(new JsonWriter(Depends::printLine, JsonWriter.Style.PRETTY));
+            return;
+        }
         for (final RevisionSourceIdentifier source : this.sources) {
             final Module module = this.schemaContext.findModule(source.getName(), source.getRevision())
                     .orElseThrow(() -> new NotFoundException("Module", source.getName()));
+            final DependencyGraph.Node node = graph.findNode(module.getName(), module.getRevision())
+                    .orElseThrow(() -> new NotFoundException("Module", source.getName()));
             final StringBuilder dependantsBuilder = new StringBuilder(MODULE);
             dependantsBuilder.append(module.getName())
                     .append(AT);
             module.getRevision().ifPresent(dependantsBuilder::append);
 
             dependantsBuilder.append(DEPENDS_TEXT);
-            if (!dependConfiguration.isModuleImportsOnly()) {
-                resolveSubmodules(module, dependConfiguration);
-            }
-            if (!dependConfiguration.isModuleIncludesOnly()) {
-                resolveImports(module, dependConfiguration);
+            final Set<String> modules = new HashSet<>();
+            for (final DependencyGraph.Node dependency : graph.getDependencies(node,
+                    !dependConfiguration.isModuleIncludesOnly(), !dependConfiguration.isModuleImportsOnly(),
+                    !dependConfiguration.isModuleDependentsOnly(), dependConfiguration.getExcludedModuleNames())) {
+                // submodules are listed with revision, imported modules only by name
+                modules.add(dependency.isSubmodule() ? dependency.getId() : dependency.getName());
             }
             for (final String name : modules) {
                 dependantsBuilder.append(name)
@@ -78,74 +90,10 @@ public class Depends extends FormatPlugin {
         }
     }
 
-    private void resolveImports(final ModuleLike module, final DependConfiguration dependConfiguration) {
-        for (final ModuleImport moduleImport : module.getImports()) {
-            final String moduleName = moduleImport.getModuleName();
-            if (dependConfiguration.getExcludedModuleNames().contains(moduleName)) {
-                continue;
-            }
-            resolveImportsInSchemaContextModules(dependConfiguration, moduleImport, moduleName);
-        }
-    }
-
-    private void resolveImportsInSchemaContextModules(final DependConfiguration dependConfiguration,
-            final ModuleImport moduleImport, final String moduleName) {
-        for (final Module contextModule : this.schemaContext.getModules()) {
-            if (moduleName.equals(contextModule.getName()) && isRevisionsEqualsOrNull(moduleImport, contextModule)) {
-                addContextModuleToModulesAndResolveImports(dependConfiguration, contextModule);
-                break;
-            }
-        }
-    }
-
-    private void addContextModuleToModulesAndResolveImports(final DependConfiguration dependConfiguration,
-            final Module contextModule) {
-        modules.add(contextModule.getName());
-        if (!dependConfiguration.isModuleDependentsOnly()) {
-            if (!dependConfiguration.isModuleImportsOnly()) {
-                resolveSubmodules(contextModule, dependConfiguration);
-            }
-            resolveImports(contextModule, dependConfiguration);
-        }
-    }
-
-    private boolean isRevisionsEqualsOrNull(final ModuleImport moduleImport, final Module contextModule) {
-        final Revision moduleImportRevision = moduleImport.getRevision().orElse(null);
-        final Revision contextModuleRevision = contextModule.getRevision().orElse(null);
-        return (moduleImportRevision == null || contextModuleRevision == null)
-                || (contextModuleRevision.toString().equals(moduleImportRevision.toString()));
-    }
-
-    private void resolveSubmodules(final ModuleLike module, final DependConfiguration dependConfiguration) {
-        final StringBuilder dependantsBuilder = new StringBuilder();
-        for (final ModuleLike subModule : module.getSubmodules()) {
-            final String moduleName = subModule.getName();
-            if (dependConfiguration.getExcludedModuleNames().contains(moduleName)) {
-                continue;
-            }
-            if (dependantsBuilder.length() > 0) {
-                dependantsBuilder.append(' ');
-            }
-            dependantsBuilder.append(moduleName);
-            final Optional<Revision> revision = subModule.getRevision();
-            if (revision.isPresent()) {
-                dependantsBuilder
-                        .append(AT)
-                        .append(revision.get());
-            }
-            final String moduleWithRevision = dependantsBuilder.toString();
-            if (dependConfiguration.getExcludedModuleNames().contains(moduleWithRevision)) {
-                continue;
-            }
-            modules.add(moduleWithRevision);
-            dependantsBuilder.setLength(0);
-            if (!dependConfiguration.isModuleDependentsOnly()) {
-                if (!dependConfiguration.isModuleIncludesOnly()) {
-                    resolveImports(subModule, dependConfiguration);
-                }
-                resolveSubmodules(subModule, dependConfiguration);
-            }
-        }
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
+                        justification = "Valid output from LYV is dependent on Logback output")
+    private static void printLine(final String line) {
+        LOG.info("{}", line);
     }
 
     @Override
@@ -175,6 +123,10 @@ public class Depends extends FormatPlugin {
                         + " as well.",
                 Collections.singletonList("--exclude-module-name"), false, "*", Collections.emptyList(),
                 new CollectionArgumentChoice<>(Collections.emptyList()), List.class);
+        groupArguments.addOption("Print import and include graph of all the modules in the context"
+                        + " instead of the dependencies of the given modules.",
+                Collections.singletonList("--depend-graph"), false, "?", null,
+                new CollectionArgumentChoice<>(Arrays.asList(DOT, JSON)), String.class);
         return Optional.of(groupArguments);
     }
 }
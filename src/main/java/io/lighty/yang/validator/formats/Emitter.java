@@ -8,10 +8,12 @@
 package io.lighty.yang.validator.formats;
 
 import io.lighty.yang.validator.config.Configuration;
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
 import io.lighty.yang.validator.simplify.SchemaTree;
 import java.util.List;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 
 public interface Emitter {
 
@@ -26,6 +28,24 @@ public interface Emitter {
     void init(Configuration config, EffectiveModelContext context,
             List<RevisionSourceIdentifier> testFilesSchemaSources, SchemaTree schemaTree);
 
+    /**
+     * Provide text sources of the modules of the context, for outputs which are parsed again.
+     *
+     * @param contextSources text sources given to the parser, which created the context
+     */
+    default void setContextSources(final List<YangTextSchemaSource> contextSources) {
+        // sources are not needed by default
+    }
+
+    /**
+     * Provide import and include graph of the modules of the context, which is shared by all users in one run.
+     *
+     * @param dependencyGraph graph of the context
+     */
+    default void setDependencyGraph(final DependencyGraph dependencyGraph) {
+        // graph is not needed by default
+    }
+
     /**
      * Create logic and emit output.
      */
@@ -10,17 +10,22 @@ package io.lighty.yang.validator.formats;
 import io.lighty.yang.validator.GroupArguments;
 import io.lighty.yang.validator.LyvParameters;
 import io.lighty.yang.validator.config.Configuration;
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
 import io.lighty.yang.validator.simplify.SchemaTree;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 
 public class Format implements Emitter, CommandLineOptions {
 
     private final List<FormatPlugin> formatPlugins = new ArrayList<>();
     private FormatPlugin usedFormat;
+    private List<YangTextSchemaSource> contextSources = Collections.emptyList();
+    private DependencyGraph dependencyGraph;
 
     public Format(final List<FormatPlugin> fp) {
         this.formatPlugins.addAll(fp);
@@ -48,10 +53,22 @@ public class Format implements Emitter, CommandLineOptions {
             if (plugin.getHelp().getName().equals(format)) {
                 this.usedFormat = plugin;
                 this.usedFormat.init(context, testFilesSchemaSources, schemaTree, config);
+                this.usedFormat.contextSources = this.contextSources;
+                this.usedFormat.dependencyGraph = this.dependencyGraph;
             }
         }
     }
 
+    @Override
+    public void setContextSources(final List<YangTextSchemaSource> sources) {
+        this.contextSources = sources;
+    }
+
+    @Override
+    public void setDependencyGraph(final DependencyGraph graph) {
+        this.dependencyGraph = graph;
+    }
+
     public void emit() {
         this.usedFormat.emitFormat();
     }
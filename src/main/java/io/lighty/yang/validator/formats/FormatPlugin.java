@@ -9,13 +9,17 @@ package io.lighty.yang.validator.formats;
 
 import io.lighty.yang.validator.GroupArguments;
 import io.lighty.yang.validator.config.Configuration;
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
+import io.lighty.yang.validator.formats.utility.SchemaNodeDescriptorCache;
 import io.lighty.yang.validator.simplify.SchemaTree;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 
 public abstract class FormatPlugin {
 
@@ -24,6 +28,9 @@ public abstract class FormatPlugin {
     SchemaTree schemaTree;
     Path output;
     Configuration configuration;
+    List<YangTextSchemaSource> contextSources = Collections.emptyList();
+    SchemaNodeDescriptorCache descriptorCache;
+    DependencyGraph dependencyGraph;
 
     void init(final EffectiveModelContext context, final List<RevisionSourceIdentifier> testFilesSchemaSources,
             final SchemaTree tree, final Configuration config) {
@@ -31,6 +38,7 @@ public abstract class FormatPlugin {
         this.sources = testFilesSchemaSources;
         this.schemaTree = tree;
         this.configuration = config;
+        this.descriptorCache = new SchemaNodeDescriptorCache(context);
         final String out = config.getOutput();
         if (out == null) {
             this.output = null;
@@ -10,16 +10,14 @@ package io.lighty.yang.validator.formats;
 import io.lighty.yang.validator.exceptions.NotFoundException;
 import io.lighty.yang.validator.formats.utility.LyvNodeData;
 import io.lighty.yang.validator.formats.utility.SchemaHtmlEnum;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
 import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -27,7 +25,6 @@ import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.CaseEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.InputEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.OutputEffectiveStatement;
-import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
 import org.opendaylight.yangtools.yang.model.spi.meta.AbstractUndeclaredEffectiveStatement;
 
 public class HtmlLine extends Line {
@@ -36,32 +33,41 @@ public class HtmlLine extends Line {
     private static final String NO_CONFIG = "no config";
 
     private final String description;
-    private final List<Integer> ids;
+    private final String id;
+    private final String parentId;
     private final SchemaHtmlEnum schema;
 
 
-    HtmlLine(final List<Integer> ids, final LyvNodeData lyvND, final RpcInputOutput inputOutput,
-            final Map<XMLNamespace, String> namespacePrefix) {
+    HtmlLine(final HtmlLine parent, final int position, final LyvNodeData lyvND, final RpcInputOutput inputOutput,
+            final Map<XMLNamespace, String> namespacePrefix, final Map<QNameModule, String> modulePrefixes) {
         super(lyvND, inputOutput, namespacePrefix);
-        this.ids = ids;
+        if (parent == null) {
+            this.id = String.valueOf(position);
+            this.parentId = "";
+            this.path = createPath(lyvND.getAbsolutePath().getNodeIdentifiers(), modulePrefixes);
+        } else {
+            this.id = parent.id + "." + position;
+            this.parentId = parent.id;
+            this.path = appendPath(new StringBuilder(parent.path), lyvND.getAbsolutePath().lastNodeIdentifier(),
+                    modulePrefixes).toString();
+        }
         final SchemaNode node = lyvND.getNode();
         description = node.getDescription().orElse("");
         schema = getSchemaBySchemaNode(node);
-        path = createPath(lyvND.getAbsolutePath().getNodeIdentifiers(), namespacePrefix, lyvND.getContext());
     }
 
-    HtmlLine(final List<Integer> ids, final LyvNodeData lyvNodeData, final RpcInputOutput inputOutput,
-            final Map<XMLNamespace, String> namespacePrefix, final AugmentationSchemaNode augment) {
+    HtmlLine(final int position, final LyvNodeData lyvNodeData, final RpcInputOutput inputOutput,
+            final Map<XMLNamespace, String> namespacePrefix, final Map<QNameModule, String> modulePrefixes,
+            final AugmentationSchemaNode augment) {
         super(lyvNodeData, inputOutput, namespacePrefix);
-        this.ids = ids;
-        final Iterable<QName> pathFromRoot;
+        this.id = String.valueOf(position);
+        this.parentId = "";
         description = augment.getDescription().orElse("");
         schema = SchemaHtmlEnum.AUGMENT;
-        pathFromRoot = augment.getTargetPath().getNodeIdentifiers();
         nodeName = augment.getTargetPath().lastNodeIdentifier().getLocalName();
         status = augment.getStatus();
         flag = "";
-        path = createPath(pathFromRoot, namespacePrefix, lyvNodeData.getContext());
+        path = createPath(augment.getTargetPath().getNodeIdentifiers(), modulePrefixes);
     }
 
     private static SchemaHtmlEnum getSchemaBySchemaNode(final SchemaNode node) {
@@ -87,33 +93,47 @@ public class HtmlLine extends Line {
     }
 
     private static String createPath(final Iterable<QName> pathFromRoot,
-            final Map<XMLNamespace, String> namespacePrefix, final EffectiveModelContext context) {
+            final Map<QNameModule, String> modulePrefixes) {
         final StringBuilder pathBuilder = new StringBuilder();
-        for (final QName path : pathFromRoot) {
-            final String prefix = namespacePrefix.getOrDefault(path.getNamespace(),
-                    context.findModule(path.getModule())
-                            .orElseThrow(() -> new NotFoundException("Module", path.getModule().toString()))
-                            .getPrefix());
-
-            pathBuilder.append('/')
-                    .append(prefix)
-                    .append(':')
-                    .append(path.getLocalName());
+        for (final QName qname : pathFromRoot) {
+            appendPath(pathBuilder, qname, modulePrefixes);
         }
         return pathBuilder.toString();
     }
 
+    private static StringBuilder appendPath(final StringBuilder pathBuilder, final QName qname,
+            final Map<QNameModule, String> modulePrefixes) {
+        final String prefix = modulePrefixes.get(qname.getModule());
+        if (prefix == null) {
+            throw new NotFoundException("Module", qname.getModule().toString());
+        }
+        return pathBuilder.append('/')
+                .append(prefix)
+                .append(':')
+                .append(qname.getLocalName());
+    }
+
+    /**
+     * Get id of the row, which is made of the position of the node and of all its parents joined by dots.
+     *
+     * @return id of the row
+     */
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Get id of the row of the parent node.
+     *
+     * @return id of the parent row or empty string if this is a top level row
+     */
+    String getParentId() {
+        return parentId;
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
-        final String id = ids.stream().map(String::valueOf).collect(Collectors.joining("."));
-        String pid = "";
-        if (ids.size() > 1) {
-            pid = ids.subList(0, ids.size() - 1)
-                    .stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining("."));
-        }
         if (typeName == null) {
             typeName = "";
         }
@@ -124,7 +144,7 @@ public class HtmlLine extends Line {
         builder.append("<tr data-node-id=\"")
                 .append(id)
                 .append("\" data-node-pid=\"")
-                .append(pid)
+                .append(parentId)
                 .append("\">")
                 .append("<td title=\"")
                 .append(description)
@@ -168,12 +188,12 @@ public class HtmlLine extends Line {
     }
 
     @Override
-    protected void resolveFlag(SchemaNode node, final Absolute absolutePath, EffectiveModelContext context) {
+    protected void resolveFlag(final SchemaNode node, final boolean isInNotification) {
         if (node instanceof CaseSchemaNode || node instanceof RpcDefinition || node instanceof NotificationDefinition
                 || node instanceof ActionDefinition) {
             // do not emit the "config/no config" for rpc/action/notification/case SchemaNode
             this.flag = "";
-        } else if (context.findNotification(absolutePath.firstNodeIdentifier()).isPresent()) {
+        } else if (isInNotification) {
             this.flag = NO_CONFIG;
         } else if (this.inputOutput == RpcInputOutput.INPUT) {
             this.flag = CONFIG;
@@ -10,21 +10,30 @@ package io.lighty.yang.validator.formats;
 import com.google.common.io.Resources;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.lighty.yang.validator.GroupArguments;
+import io.lighty.yang.validator.config.JsTreeConfiguration;
 import io.lighty.yang.validator.exceptions.NotFoundException;
+import io.lighty.yang.validator.formats.utility.JsonWriter;
 import io.lighty.yang.validator.formats.utility.LyvNodeData;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.json.JSONObject;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
 import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
 import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
@@ -36,6 +45,7 @@ import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
@@ -49,33 +59,36 @@ public class JsTree extends FormatPlugin {
     private static final String HELP_NAME = "jstree";
     private static final String HELP_DESCRIPTION = "Prints out html, javascript tree of the modules";
     private static final String INPUT = "input";
+    private static final String ASSETS = "assets";
+    private static final String LAZY_JS = "lazy-js";
+    private static final String LAZY_JS_FILE = "jstree-lazy.js";
+    private static final String LAZY_INDEX = "lazy-index";
+    private static final String INDEX = "index.html";
+    private static final String ROOT_CHUNK = "root";
+    private static final String HEADER_CHARSET = "charset=iso-8859-1";
 
     private Map<XMLNamespace, String> namespacePrefix = new HashMap<>();
+    private Map<QNameModule, String> modulePrefixes = new HashMap<>();
 
     @Override
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
     public void emitFormat() {
         this.namespacePrefix = new HashMap<>();
+        this.modulePrefixes = new HashMap<>();
+        for (final Module module : this.schemaContext.getModules()) {
+            this.modulePrefixes.put(module.getQNameModule(), module.getPrefix());
+        }
+        final JsTreeConfiguration jsTreeConfiguration = this.configuration.getJsTreeConfiguration();
+        if (jsTreeConfiguration != null && jsTreeConfiguration.getLazyDirectory() != null) {
+            emitLazyFormat(Paths.get(jsTreeConfiguration.getLazyDirectory()));
+            return;
+        }
         for (final RevisionSourceIdentifier source : this.sources) {
             final Module module = this.schemaContext.findModule(source.getName(), source.getRevision())
                     .orElseThrow(() -> new NotFoundException("Module", source.getName()));
-            final SingletonListInitializer singletonListInitializer = new SingletonListInitializer(1);
-
-            // Nodes
-            printLines(getChildNodesLines(singletonListInitializer, module));
-
-            // Augmentations
-            for (final AugmentationSchemaNode augNode : module.getAugmentations()) {
-                printLines(getAugmentationNodesLines(singletonListInitializer.getSingletonListWithIncreasedValue(),
-                        augNode));
-            }
-
-            // Rpcs
-            printLines(getRpcsLines(singletonListInitializer, module));
-
-            // Notifications
-            printLines(getNotificationsLines(singletonListInitializer, module));
+            LOG.info("{}", prepareHeader(module));
+            printLines(getModuleLines(module));
         }
 
         LOG.info("</table>");
@@ -85,85 +98,150 @@ public class JsTree extends FormatPlugin {
         LOG.info("</html>");
     }
 
+    /**
+     * Write the tree of every module to its own small page in given directory. Rows of the children of each node are
+     * written to a separate chunk file, which is loaded only when the node is expanded for the first time. The script
+     * loading the chunks is shared by all the pages and the index page lists all the pages in the directory, so one
+     * directory may be filled by several runs.
+     */
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
+                        justification = "Valid output from LYV is dependent on Logback output")
+    private void emitLazyFormat(final Path directory) {
+        try {
+            final Path assets = directory.resolve(ASSETS);
+            Files.createDirectories(assets);
+            Files.writeString(assets.resolve(LAZY_JS_FILE), loadResource(LAZY_JS), StandardCharsets.UTF_8);
+            for (final RevisionSourceIdentifier source : this.sources) {
+                final Module module = this.schemaContext.findModule(source.getName(), source.getRevision())
+                        .orElseThrow(() -> new NotFoundException("Module", source.getName()));
+                writeModulePage(directory, module);
+            }
+            final Path index = writeIndex(directory);
+            LOG.info("{}", index);
+        } catch (final IOException e) {
+            LOG.error("Can not write jstree pages to {}", directory, e);
+        }
+    }
+
+    private void writeModulePage(final Path directory, final Module module) throws IOException {
+        final String nameRevision = getNameRevision(module);
+        final String header = prepareHeader(module);
+        final Map<String, List<HtmlLine>> chunks = new LinkedHashMap<>();
+        for (final HtmlLine line : getModuleLines(module)) {
+            chunks.computeIfAbsent(line.getParentId(), parentId -> new ArrayList<>()).add(line);
+        }
+        final Path chunkDirectory = directory.resolve(nameRevision);
+        Files.createDirectories(chunkDirectory);
+        for (final Map.Entry<String, List<HtmlLine>> chunk : chunks.entrySet()) {
+            final String parentId = chunk.getKey();
+            final String fileName = (parentId.isEmpty() ? ROOT_CHUNK : parentId) + ".js";
+            Files.writeString(chunkDirectory.resolve(fileName), createChunk(parentId, chunk.getValue(),
+                    chunks.keySet()), StandardCharsets.UTF_8);
+        }
+        final String page = header.replace(HEADER_CHARSET, "charset=utf-8")
+                + "</table>\n</div>\n"
+                + "<script src=\"" + ASSETS + "/" + LAZY_JS_FILE + "\"></script>\n"
+                + "<script>LyvJsTree.init(" + JSONObject.quote(nameRevision) + ");</script>\n"
+                + "</body>\n</html>\n";
+        Files.writeString(directory.resolve(nameRevision + ".html"), page, StandardCharsets.UTF_8);
+    }
+
+    private static String createChunk(final String parentId, final List<HtmlLine> lines,
+            final Set<String> parentIds) {
+        final StringBuilder chunk = new StringBuilder("LyvJsTree.chunk(").append(JSONObject.quote(parentId))
+                .append(", ");
+        final JsonWriter writer = new JsonWriter(text -> chunk.append(text).append('\n'), JsonWriter.Style.COMPACT);
+        writer.beginArray();
+        for (final HtmlLine line : lines) {
+            final String id = line.getId();
+            writer.beginObject()
+                    .name("id").value(id)
+                    .name("children").value(parentIds.contains(id))
+                    .name("row").value(line.toString())
+                    .endObject();
+        }
+        writer.endArray();
+        return chunk.append(");\n").toString();
+    }
+
+    private static Path writeIndex(final Path directory) throws IOException {
+        final List<String> pages = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.html")) {
+            for (final Path page : stream) {
+                final String fileName = page.getFileName().toString();
+                if (!INDEX.equals(fileName)) {
+                    pages.add(fileName);
+                }
+            }
+        }
+        Collections.sort(pages);
+        final StringBuilder links = new StringBuilder();
+        for (final String page : pages) {
+            links.append("<li><a href=\"").append(page).append("\">")
+                    .append(page, 0, page.length() - ".html".length()).append("</a></li>\n");
+        }
+        final Path index = directory.resolve(INDEX);
+        Files.writeString(index, loadResource(LAZY_INDEX).replace("<MODULES>", links), StandardCharsets.UTF_8);
+        return index;
+    }
+
+    private List<HtmlLine> getModuleLines(final Module module) {
+        final IdCounter idCounter = new IdCounter(1);
+
+        // Nodes
+        final List<HtmlLine> lines = getChildNodesLines(idCounter, module);
+
+        // Augmentations
+        for (final AugmentationSchemaNode augNode : module.getAugmentations()) {
+            lines.addAll(getAugmentationNodesLines(idCounter.next(), augNode));
+        }
+
+        // Rpcs
+        lines.addAll(getRpcsLines(idCounter, module));
+
+        // Notifications
+        lines.addAll(getNotificationsLines(idCounter, module));
+        return lines;
+    }
+
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
-    private void printLines(final List<Line> lines) {
-        for (final Line line : lines) {
+    private void printLines(final List<HtmlLine> lines) {
+        for (final HtmlLine line : lines) {
             LOG.info("{}", line);
         }
     }
 
-    private List<Line> getNotificationsLines(final SingletonListInitializer singletonListInitializer,
-            final Module module) {
-        final List<Line> lines = new ArrayList<>();
+    private List<HtmlLine> getNotificationsLines(final IdCounter idCounter, final Module module) {
+        final List<HtmlLine> lines = new ArrayList<>();
         final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
         for (final NotificationDefinition node : module.getNotifications()) {
             schemaIS.enterSchemaTree(node.getQName());
-            final List<Integer> ids = singletonListInitializer.getSingletonListWithIncreasedValue();
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
-                    schemaIS.toSchemaNodeIdentifier());
-            final HtmlLine htmlLine = new HtmlLine(new ArrayList<>(ids), lyvNodeData, RpcInputOutput.OTHER,
-                    namespacePrefix);
+            final HtmlLine htmlLine = createLine(null, idCounter.next(), node, RpcInputOutput.OTHER,
+                    Collections.emptyList(), schemaIS);
             lines.add(htmlLine);
-            resolveChildNodes(lines, new ArrayList<>(ids), node, RpcInputOutput.OTHER, Collections.emptyList(),
-                    schemaIS);
+            resolveChildNodes(lines, htmlLine, node, RpcInputOutput.OTHER, Collections.emptyList(), schemaIS);
             schemaIS.exit();
         }
         return lines;
     }
 
-    private List<Line> getRpcsLines(final SingletonListInitializer singletonListInitializer, final Module module) {
-        final List<Line> lines = new ArrayList<>();
+    private List<HtmlLine> getRpcsLines(final IdCounter idCounter, final Module module) {
+        final List<HtmlLine> lines = new ArrayList<>();
         final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
         for (final RpcDefinition node : module.getRpcs()) {
             schemaIS.enterSchemaTree(node.getQName());
-            final List<Integer> rpcId = singletonListInitializer.getSingletonListWithIncreasedValue();
-            LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
-                    schemaIS.toSchemaNodeIdentifier());
-            HtmlLine htmlLine = new HtmlLine(rpcId, lyvNodeData, RpcInputOutput.OTHER, namespacePrefix);
+            final HtmlLine htmlLine = createLine(null, idCounter.next(), node, RpcInputOutput.OTHER,
+                    Collections.emptyList(), schemaIS);
             lines.add(htmlLine);
-            final boolean inputExists = !node.getInput().getChildNodes().isEmpty();
-            final boolean outputExists = !node.getOutput().getChildNodes().isEmpty();
-            List<Integer> ids = new ArrayList<>(rpcId);
-            if (inputExists) {
-                ids.add(1);
-                schemaIS.enterSchemaTree(node.getInput().getQName());
-                lyvNodeData = new LyvNodeData(this.schemaContext, node.getInput(), Collections.emptyList(),
-                        schemaIS.toSchemaNodeIdentifier());
-                htmlLine = new HtmlLine(new ArrayList<>(ids), lyvNodeData, RpcInputOutput.INPUT, namespacePrefix);
-                lines.add(htmlLine);
-                resolveChildNodes(lines, new ArrayList<>(ids), node.getInput(), RpcInputOutput.INPUT,
-                        Collections.emptyList(), schemaIS);
-                schemaIS.exit();
-            }
-            ids = new ArrayList<>(rpcId);
-            if (outputExists) {
-                if (!inputExists) {
-                    ids.add(1);
-                } else {
-                    ids.add(2);
-                }
-                schemaIS.enterSchemaTree(node.getOutput().getQName());
-                lyvNodeData = new LyvNodeData(this.schemaContext, node.getOutput(), Collections.emptyList(),
-                        schemaIS.toSchemaNodeIdentifier());
-                htmlLine = new HtmlLine(new ArrayList<>(ids), lyvNodeData, RpcInputOutput.OUTPUT, namespacePrefix);
-                lines.add(htmlLine);
-                resolveChildNodes(lines, new ArrayList<>(ids), node.getOutput(), RpcInputOutput.OUTPUT,
-                        Collections.emptyList(), schemaIS);
-                schemaIS.exit();
-            }
+            resolveOperation(lines, htmlLine, node, schemaIS);
             schemaIS.exit();
         }
         return lines;
     }
 
-    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
-                        justification = "Valid output from LYV is dependent on Logback output")
-    private List<Line> getChildNodesLines(final SingletonListInitializer singletonListInitializer,
-            final Module module) {
-        final List<Line> lines = new ArrayList<>();
-        final String headerText = prepareHeader(module);
-        LOG.info("{}", headerText);
+    private List<HtmlLine> getChildNodesLines(final IdCounter idCounter, final Module module) {
+        final List<HtmlLine> lines = new ArrayList<>();
         for (final Module m : this.schemaContext.getModules()) {
             if (!m.getPrefix().equals(module.getPrefix())) {
                 namespacePrefix.put(m.getNamespace(), m.getPrefix());
@@ -172,51 +250,53 @@ public class JsTree extends FormatPlugin {
         final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
         for (final DataSchemaNode node : module.getChildNodes()) {
             schemaIS.enterSchemaTree(node.getQName());
-            final List<Integer> ids = singletonListInitializer.getSingletonListWithIncreasedValue();
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
-                    schemaIS.toSchemaNodeIdentifier());
-            final HtmlLine htmlLine = new HtmlLine(ids, lyvNodeData, RpcInputOutput.OTHER, namespacePrefix);
+            final HtmlLine htmlLine = createLine(null, idCounter.next(), node, RpcInputOutput.OTHER,
+                    Collections.emptyList(), schemaIS);
             lines.add(htmlLine);
-            resolveChildNodes(lines, new ArrayList<>(ids), node, RpcInputOutput.OTHER, Collections.emptyList(),
-                    schemaIS);
+            resolveChildNodes(lines, htmlLine, node, RpcInputOutput.OTHER, Collections.emptyList(), schemaIS);
             schemaIS.exit();
         }
         return lines;
     }
 
-    private List<Line> getAugmentationNodesLines(final List<Integer> ids, final AugmentationSchemaNode augNode) {
-        final List<Line> lines = new ArrayList<>();
+    private List<HtmlLine> getAugmentationNodesLines(final int id, final AugmentationSchemaNode augNode) {
+        final List<HtmlLine> lines = new ArrayList<>();
         final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
         schemaIS.enterSchemaTree(augNode.getTargetPath());
         final DataSchemaNode dataSchemaNode = augNode.getChildNodes().iterator().next();
         schemaIS.enterSchemaTree(dataSchemaNode.getQName());
-        LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, dataSchemaNode,
+        final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, dataSchemaNode,
                 Collections.emptyList(), schemaIS.toSchemaNodeIdentifier());
-        final HtmlLine htmlLine = new HtmlLine(new ArrayList<>(ids), lyvNodeData, RpcInputOutput.OTHER, namespacePrefix,
-                augNode);
-        lines.add(htmlLine);
+        final HtmlLine augmentLine = new HtmlLine(id, lyvNodeData, RpcInputOutput.OTHER, namespacePrefix,
+                modulePrefixes, augNode);
+        lines.add(augmentLine);
         schemaIS.exit();
-        final Iterator<? extends DataSchemaNode> nodes = augNode.getChildNodes().iterator();
         int modelAugmentationNumber = 1;
-        while (nodes.hasNext()) {
-            final DataSchemaNode node = nodes.next();
+        for (final DataSchemaNode node : augNode.getChildNodes()) {
             schemaIS.enterSchemaTree(node.getQName());
             final List<QName> qnames = schemaIS.toSchemaNodeIdentifier().getNodeIdentifiers();
             final RpcInputOutput inputOutputOther = getAugmentationRpcInputOutput(qnames);
-            ids.add(modelAugmentationNumber++);
-            lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
-                    schemaIS.toSchemaNodeIdentifier());
-            final HtmlLine line = new HtmlLine(new ArrayList<>(ids), lyvNodeData, inputOutputOther, namespacePrefix);
+            final HtmlLine line = createLine(augmentLine, modelAugmentationNumber++, node, inputOutputOther,
+                    Collections.emptyList(), schemaIS);
             lines.add(line);
-            resolveChildNodes(lines, new ArrayList<>(ids), node, RpcInputOutput.OTHER, Collections.emptyList(),
-                    schemaIS);
-            ids.remove(ids.size() - 1);
+            resolveChildNodes(lines, line, node, RpcInputOutput.OTHER, Collections.emptyList(), schemaIS);
             schemaIS.exit();
         }
         schemaIS.clear();
         return lines;
     }
 
+    /**
+     * Create line of the node on top of given stack. Id and path of the line extend the id and path of the parent
+     * line.
+     */
+    private HtmlLine createLine(final HtmlLine parent, final int id, final SchemaNode node,
+            final RpcInputOutput inputOutput, final List<QName> keys, final SchemaInferenceStack schemaIS) {
+        final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, node, keys,
+                schemaIS.toSchemaNodeIdentifier());
+        return new HtmlLine(parent, id, lyvNodeData, inputOutput, namespacePrefix, modulePrefixes);
+    }
+
     private RpcInputOutput getAugmentationRpcInputOutput(final List<QName> qnames) {
         Collection<? extends ActionDefinition> actions = new HashSet<>();
         RpcInputOutput inputOutputOther = RpcInputOutput.OTHER;
@@ -250,142 +330,113 @@ public class JsTree extends FormatPlugin {
         return inputOutputOther;
     }
 
-    private String loadJS() {
-        final URL url = Resources.getResource("js");
+    private static String loadJS() {
+        return loadResource("js");
+    }
+
+    private static String loadResource(final String name) {
+        final URL url = Resources.getResource(name);
         String text = "";
         try {
             text = Resources.toString(url, StandardCharsets.UTF_8);
         } catch (final IOException e) {
-            LOG.error("Can not load text from js file");
+            LOG.error("Can not load text from {} file", name);
         }
 
         return text;
     }
 
-    private String prepareHeader(final Module module) {
+    private static String getNameRevision(final Module module) {
         final StringBuilder nameRevision = new StringBuilder(module.getName());
         module.getRevision().ifPresent(value -> nameRevision.append("@").append(value));
-        final URL url = Resources.getResource("header");
-        String text = "";
-        try {
-            text = Resources.toString(url, StandardCharsets.UTF_8);
-            text = text.replace("<NAME_REVISION>", nameRevision);
-            text = text.replace("<NAMESPACE>", module.getNamespace().toString());
-            text = text.replace("<PREFIX>", module.getPrefix());
-        } catch (final IOException e) {
-            LOG.error("Can not load text from header file");
-        }
+        return nameRevision.toString();
+    }
 
-        return text;
+    private static String prepareHeader(final Module module) {
+        return loadResource("header")
+                .replace("<NAME_REVISION>", getNameRevision(module))
+                .replace("<NAMESPACE>", module.getNamespace().toString())
+                .replace("<PREFIX>", module.getPrefix());
     }
 
-    private void resolveChildNodes(final List<Line> lines, final List<Integer> connections, final SchemaNode node,
+    private void resolveChildNodes(final List<HtmlLine> lines, final HtmlLine parent, final SchemaNode node,
             final RpcInputOutput inputOutput, final List<QName> keys, final SchemaInferenceStack schemaInferenceStack) {
+        // ids of the lines are unique only if all the children of the node are numbered by one counter
+        final IdCounter idCounter = new IdCounter(1);
         if (node instanceof DataNodeContainer) {
-            final Iterator<? extends DataSchemaNode> childNodes = ((DataNodeContainer) node).getChildNodes().iterator();
-            resolveDataNodeContainer(childNodes, lines, connections, inputOutput, keys, schemaInferenceStack);
+            resolveDataNodeContainer(((DataNodeContainer) node).getChildNodes(), lines, parent, idCounter,
+                    inputOutput, keys, schemaInferenceStack);
         } else if (node instanceof ChoiceSchemaNode) {
-            connections.add(0);
-            final Collection<? extends CaseSchemaNode> cases = ((ChoiceSchemaNode) node).getCases();
-            final Iterator<? extends CaseSchemaNode> iterator = cases.iterator();
-            resolveChoiceSchemaNode(iterator, lines, connections, inputOutput, schemaInferenceStack);
+            resolveChoiceSchemaNode(((ChoiceSchemaNode) node).getCases(), lines, parent, idCounter, inputOutput,
+                    schemaInferenceStack);
         }
         // If action is in container or list
         if (node instanceof ActionNodeContainer) {
-            resolveActionNodeContainer(lines, connections, node, schemaInferenceStack);
+            resolveActionNodeContainer(lines, parent, idCounter, node, schemaInferenceStack);
         }
     }
 
-    private void resolveActionNodeContainer(final List<Line> lines, final List<Integer> connections,
-            final SchemaNode node, final SchemaInferenceStack schemaIS) {
+    private void resolveActionNodeContainer(final List<HtmlLine> lines, final HtmlLine parent,
+            final IdCounter idCounter, final SchemaNode node, final SchemaInferenceStack schemaIS) {
         for (final ActionDefinition action : ((ActionNodeContainer) node).getActions()) {
-            final int id = 1;
-            connections.add(0);
-            connections.set(connections.size() - 1, id);
             schemaIS.enterSchemaTree(action.getQName());
-            LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, action, Collections.emptyList(),
-                    schemaIS.toSchemaNodeIdentifier());
-            HtmlLine htmlLine = new HtmlLine(new ArrayList<>(connections), lyvNodeData, RpcInputOutput.OTHER,
-                    namespacePrefix);
+            final HtmlLine htmlLine = createLine(parent, idCounter.next(), action, RpcInputOutput.OTHER,
+                    Collections.emptyList(), schemaIS);
             lines.add(htmlLine);
-            final boolean inputExists = !action.getInput().getChildNodes().isEmpty();
-            final boolean outputExists = !action.getOutput().getChildNodes().isEmpty();
-            if (inputExists) {
-                connections.add(1);
-                schemaIS.enterSchemaTree(action.getInput().getQName());
-                lyvNodeData = new LyvNodeData(this.schemaContext, action.getInput(), Collections.emptyList(),
-                        schemaIS.toSchemaNodeIdentifier());
-                htmlLine = new HtmlLine(new ArrayList<>(connections), lyvNodeData, RpcInputOutput.INPUT,
-                        namespacePrefix);
-                lines.add(htmlLine);
-                resolveChildNodes(lines, new ArrayList<>(connections), action.getInput(), RpcInputOutput.INPUT,
-                        Collections.emptyList(), schemaIS);
-                connections.remove(connections.size() - 1);
-                schemaIS.exit();
-            }
-            if (outputExists) {
-                connections.add(1);
-                schemaIS.enterSchemaTree(action.getOutput().getQName());
-                lyvNodeData = new LyvNodeData(this.schemaContext, action.getOutput(), Collections.emptyList(),
-                        schemaIS.toSchemaNodeIdentifier());
-                htmlLine = new HtmlLine(new ArrayList<>(connections), lyvNodeData, RpcInputOutput.OUTPUT,
-                        namespacePrefix);
-                lines.add(htmlLine);
-                resolveChildNodes(lines, new ArrayList<>(connections), action.getOutput(), RpcInputOutput.OUTPUT,
-                        Collections.emptyList(), schemaIS);
-                connections.remove(connections.size() - 1);
-                schemaIS.exit();
-            }
-            connections.remove(connections.size() - 1);
+            resolveOperation(lines, htmlLine, action, schemaIS);
             schemaIS.exit();
         }
     }
 
-    private void resolveChoiceSchemaNode(final Iterator<? extends CaseSchemaNode> iterator, final List<Line> lines,
-            final List<Integer> connections, final RpcInputOutput inputOutput, final SchemaInferenceStack schemaIS) {
-        int id = 1;
-        while (iterator.hasNext()) {
-            final DataSchemaNode child = iterator.next();
+    private void resolveOperation(final List<HtmlLine> lines, final HtmlLine parent,
+            final OperationDefinition operation, final SchemaInferenceStack schemaIS) {
+        final boolean inputExists = !operation.getInput().getChildNodes().isEmpty();
+        final boolean outputExists = !operation.getOutput().getChildNodes().isEmpty();
+        if (inputExists) {
+            resolveInputOutput(lines, parent, 1, operation.getInput(), RpcInputOutput.INPUT, schemaIS);
+        }
+        if (outputExists) {
+            resolveInputOutput(lines, parent, inputExists ? 2 : 1, operation.getOutput(), RpcInputOutput.OUTPUT,
+                    schemaIS);
+        }
+    }
+
+    private void resolveInputOutput(final List<HtmlLine> lines, final HtmlLine parent, final int id,
+            final SchemaNode node, final RpcInputOutput inputOutput, final SchemaInferenceStack schemaIS) {
+        schemaIS.enterSchemaTree(node.getQName());
+        final HtmlLine htmlLine = createLine(parent, id, node, inputOutput, Collections.emptyList(), schemaIS);
+        lines.add(htmlLine);
+        resolveChildNodes(lines, htmlLine, node, inputOutput, Collections.emptyList(), schemaIS);
+        schemaIS.exit();
+    }
+
+    private void resolveChoiceSchemaNode(final Collection<? extends CaseSchemaNode> cases,
+            final List<HtmlLine> lines, final HtmlLine parent, final IdCounter idCounter,
+            final RpcInputOutput inputOutput, final SchemaInferenceStack schemaIS) {
+        for (final CaseSchemaNode child : cases) {
             schemaIS.enterSchemaTree(child.getQName());
-            connections.set(connections.size() - 1, id++);
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, child, Collections.emptyList(),
-                    schemaIS.toSchemaNodeIdentifier());
-            final HtmlLine htmlLine = new HtmlLine(new ArrayList<>(connections), lyvNodeData, inputOutput,
-                    namespacePrefix);
-            lines.add(htmlLine);
-            resolveChildNodes(lines, new ArrayList<>(connections), child, inputOutput, Collections.emptyList(),
+            final HtmlLine htmlLine = createLine(parent, idCounter.next(), child, inputOutput, Collections.emptyList(),
                     schemaIS);
+            lines.add(htmlLine);
+            resolveChildNodes(lines, htmlLine, child, inputOutput, Collections.emptyList(), schemaIS);
             schemaIS.exit();
         }
-        // remove last
-        connections.remove(connections.size() - 1);
     }
 
-    private void resolveDataNodeContainer(final Iterator<? extends DataSchemaNode> childNodes,
-            final List<Line> lines, final List<Integer> connections, final RpcInputOutput inputOutput,
-            final List<QName> keys, final SchemaInferenceStack schemaIS) {
-        int id = 1;
-        connections.add(0);
-        while (childNodes.hasNext()) {
-            final DataSchemaNode child = childNodes.next();
+    private void resolveDataNodeContainer(final Collection<? extends DataSchemaNode> childNodes,
+            final List<HtmlLine> lines, final HtmlLine parent, final IdCounter idCounter,
+            final RpcInputOutput inputOutput, final List<QName> keys, final SchemaInferenceStack schemaIS) {
+        for (final DataSchemaNode child : childNodes) {
             schemaIS.enterSchemaTree(child.getQName());
-            connections.set(connections.size() - 1, id++);
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, child, keys,
-                    schemaIS.toSchemaNodeIdentifier());
-            final HtmlLine htmlLine = new HtmlLine(new ArrayList<>(connections), lyvNodeData, inputOutput,
-                    namespacePrefix);
+            final HtmlLine htmlLine = createLine(parent, idCounter.next(), child, inputOutput, keys, schemaIS);
             lines.add(htmlLine);
             List<QName> keyDefinitions = Collections.emptyList();
             if (child instanceof ListSchemaNode) {
                 keyDefinitions = ((ListSchemaNode) child).getKeyDefinition();
             }
-            resolveChildNodes(lines, new ArrayList<>(connections), child, inputOutput, keyDefinitions, schemaIS);
+            resolveChildNodes(lines, htmlLine, child, inputOutput, keyDefinitions, schemaIS);
             schemaIS.exit();
         }
-        // remove last only if the conatiner is not root container
-        if (connections.size() > 1) {
-            connections.remove(connections.size() - 1);
-        }
     }
 
     @Override
@@ -395,19 +446,25 @@ public class JsTree extends FormatPlugin {
 
     @Override
     public Optional<GroupArguments> getGroupArguments() {
-        return Optional.empty();
+        final GroupArguments groupArguments = new GroupArguments(HELP_NAME,
+                "Jstree format based arguments: ");
+        groupArguments.addOption("Write a page of each module to given directory instead of the output. Rows of"
+                        + " the children of a node are loaded when the node is expanded and the pages share an"
+                        + " index page and the script.",
+                Collections.singletonList("--jstree-lazy"), false, "?", null, null, String.class);
+        return Optional.of(groupArguments);
     }
 
-    private static class SingletonListInitializer {
+    private static class IdCounter {
 
         private int id;
 
-        SingletonListInitializer(final int initialValue) {
+        IdCounter(final int initialValue) {
             this.id = initialValue;
         }
 
-        List<Integer> getSingletonListWithIncreasedValue() {
-            return new ArrayList<>(Collections.singletonList(this.id++));
+        int next() {
+            return this.id++;
         }
     }
 }
@@ -10,18 +10,20 @@ package io.lighty.yang.validator.formats;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.lighty.yang.validator.GroupArguments;
 import io.lighty.yang.validator.config.Configuration;
+import io.lighty.yang.validator.config.JsonTreeConfiguration;
 import io.lighty.yang.validator.exceptions.NotFoundException;
+import io.lighty.yang.validator.formats.utility.EffectiveConfigCache;
+import io.lighty.yang.validator.formats.utility.GroupingDefinitions;
+import io.lighty.yang.validator.formats.utility.JsonWriter;
 import io.lighty.yang.validator.simplify.SchemaTree;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import org.json.JSONObject;
+import net.sourceforge.argparse4j.impl.choice.CollectionArgumentChoice;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.Revision;
-import org.opendaylight.yangtools.yang.common.XMLNamespace;
 import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
 import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.AnydataSchemaNode;
@@ -39,7 +41,9 @@ import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier;
@@ -76,7 +80,6 @@ public class JsonTree extends FormatPlugin {
     private static final String AUGMENTS = "augments";
     private static final String ACTION = "action";
     private static final String EMPTY = "";
-    private static final String OUTPUT_TEXT = "output";
     private static final String PREFIX = "prefix";
     private static final String CONTACT = "contact";
     private static final String TYPE = "type";
@@ -85,179 +88,274 @@ public class JsonTree extends FormatPlugin {
     private static final String UNKNOWN = "unknown";
     private static final String SLASH = "/";
     private static final String COLON = ":";
+    private static final String PRETTY = "pretty";
+    private static final String COMPACT = "compact";
+    private static final String NDJSON = "ndjson";
+
+    private static final String USES = "uses";
+    private static final String GROUPING = "grouping";
+    private static final String DEFINITION = "definition";
+    private static final String DEFINITIONS = DEFINITION + "s";
+    private static final String CURRENT = ".";
+
+    private JsonWriter writer;
+    private boolean ndjson;
+    private boolean useDefinitions;
+    private GroupingDefinitions definitions;
+    private EffectiveConfigCache configCache;
+    private int relativePathStart;
 
     @Override
     void init(final EffectiveModelContext context, final List<RevisionSourceIdentifier> testFilesSchemaSources,
             final SchemaTree schemaTree, final Configuration config) {
         super.init(context, testFilesSchemaSources, schemaTree, config);
+        final JsonTreeConfiguration jsonTreeConfiguration = config.getJsonTreeConfiguration();
+        final String style = jsonTreeConfiguration == null ? PRETTY : jsonTreeConfiguration.getStyle();
+        this.ndjson = NDJSON.equals(style);
+        this.useDefinitions = jsonTreeConfiguration != null && jsonTreeConfiguration.isDefinitions();
+        this.configCache = new EffectiveConfigCache(context);
+        final JsonWriter.Style writerStyle;
+        if (this.ndjson) {
+            writerStyle = JsonWriter.Style.LINES;
+        } else if (COMPACT.equals(style)) {
+            writerStyle = JsonWriter.Style.COMPACT;
+        } else {
+            writerStyle = JsonWriter.Style.PRETTY;
+        }
+        this.writer = new JsonWriter(JsonTree::printLine, writerStyle);
     }
 
-    @Override
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
+    private static void printLine(final String line) {
+        LOG.info("{}", line);
+    }
+
+    @Override
     public void emitFormat() {
         for (final RevisionSourceIdentifier source : this.sources) {
             final Module module = this.schemaContext.findModule(source.getName(), source.getRevision())
                     .orElseThrow(() -> new NotFoundException(MODULE_STRING, source.getName()));
-            final JSONObject moduleMetadata = resolveModuleMetadata(module);
-            final JSONObject jsonTree = new JSONObject();
             final SchemaInferenceStack schemaInferenceStack = SchemaInferenceStack.of(this.schemaContext);
-            appendChildNodesToJsonTree(module, jsonTree, schemaInferenceStack);
-            appendNotificationsToJsonTree(module, jsonTree, schemaInferenceStack);
-            appendRpcsToJsonTree(module, jsonTree, schemaInferenceStack);
-
-            for (final AugmentationSchemaNode augmentation : module.getAugmentations()) {
-                schemaInferenceStack.enterSchemaTree(augmentation.getTargetPath());
-                final JSONObject augmentationJson = new JSONObject();
-                final boolean isConfig = isAugmentConfig(augmentation);
-                augmentationJson.put(CONFIG, isConfig);
-                augmentationJson.put(STATUS, augmentation.getStatus().name());
-                augmentationJson.put(DESCRIPTION, augmentation.getDescription().orElse(EMPTY));
-                augmentationJson.put(STATUS, augmentation.getStatus().name());
-                augmentationJson.put(CLASS, AUG);
-                final String path = resolvePath(augmentation.getTargetPath());
-                augmentationJson.put(PATH, path);
-                augmentationJson.put(NAME, path);
-                for (final DataSchemaNode child : augmentation.getChildNodes()) {
-                    if (isConfig) {
-                        augmentationJson.append(CHILDREN, resolveChildMetadata(child, Optional.empty(),
-                                schemaInferenceStack));
-                    } else {
-                        augmentationJson.append(CHILDREN, resolveChildMetadata(child, Optional.of(false),
-                                schemaInferenceStack));
-                    }
+            if (this.useDefinitions) {
+                this.definitions = new GroupingDefinitions(this.schemaContext);
+            }
+            if (this.ndjson) {
+                writeModuleMetadata(module);
+            } else {
+                this.writer.beginObject().name(MODULE);
+                writeModuleMetadata(module);
+            }
+            writeChildNodes(module, schemaInferenceStack);
+            writeNotifications(module, schemaInferenceStack);
+            writeRpcs(module, schemaInferenceStack);
+
+            if (!module.getAugmentations().isEmpty()) {
+                beginSection(AUGMENTS);
+                for (final AugmentationSchemaNode augmentation : module.getAugmentations()) {
+                    schemaInferenceStack.enterSchemaTree(augmentation.getTargetPath());
+                    writeAugmentation(module, augmentation, schemaInferenceStack);
+                    schemaInferenceStack.clear();
                 }
+                endSection();
+            }
+            if (this.useDefinitions) {
+                writeDefinitions();
+            }
+            if (!this.ndjson) {
+                this.writer.endObject();
+            }
+        }
+    }
+
+    /**
+     * Write all grouping expansions referenced so far. Expansions may reference other expansions, so this continues
+     * until there is no expansion left.
+     */
+    private void writeDefinitions() {
+        GroupingDefinitions.Definition definition = this.definitions.poll();
+        if (definition == null) {
+            return;
+        }
+        beginSection(DEFINITIONS);
+        while (definition != null) {
+            final QName groupingQName = definition.getGrouping().getQName();
+            this.writer.beginObject()
+                    .name(NAME).value(definition.getId())
+                    .name(CLASS).value(DEFINITION)
+                    .name(GROUPING).value(resolvePrefix(groupingQName) + COLON + groupingQName.getLocalName());
+            final SchemaInferenceStack schemaInferenceStack = SchemaInferenceStack.of(this.schemaContext,
+                    definition.getParentPath());
+            this.relativePathStart = definition.getParentPath().getNodeIdentifiers().size();
+            beginChildren();
+            for (final DataSchemaNode child : definition.getChildren()) {
+                writeChildMetadata(child, definition.getConfig(), schemaInferenceStack);
+            }
+            endChildren();
+            this.relativePathStart = 0;
+            definition = this.definitions.poll();
+        }
+        endSection();
+    }
 
-                appendActionsToAugmentationJson(augmentation, augmentationJson, schemaInferenceStack);
-                appendNotificationsToAugmentationJson(module, augmentationJson, schemaInferenceStack);
-                jsonTree.append(AUGMENTS, augmentationJson);
-                schemaInferenceStack.clear();
+    private void writeAugmentation(final Module module, final AugmentationSchemaNode augmentation,
+            final SchemaInferenceStack schemaInferenceStack) {
+        final boolean isConfig = this.configCache.isConfig(augmentation.getTargetPath());
+        final String path = resolvePath(augmentation.getTargetPath());
+        this.writer.beginObject()
+                .name(NAME).value(path)
+                .name(CLASS).value(AUG)
+                .name(CONFIG).value(isConfig)
+                .name(STATUS).value(augmentation.getStatus().name())
+                .name(DESCRIPTION).value(augmentation.getDescription().orElse(EMPTY))
+                .name(PATH).value(path);
+        final boolean hasChildren = !augmentation.getChildNodes().isEmpty() || !augmentation.getActions().isEmpty();
+        final boolean hasNotifications = !module.getNotifications().isEmpty();
+        if (this.ndjson) {
+            this.writer.endObject();
+        }
+        if (hasChildren) {
+            beginSection(CHILDREN);
+            for (final DataSchemaNode child : augmentation.getChildNodes()) {
+                if (isConfig) {
+                    writeChildMetadata(child, Optional.empty(), schemaInferenceStack);
+                } else {
+                    writeChildMetadata(child, Optional.of(false), schemaInferenceStack);
+                }
             }
-            jsonTree.put(MODULE, moduleMetadata);
-            final String jsonTreeText = jsonTree.toString(4);
-            LOG.info("{}", jsonTreeText);
+            writeAugmentationActions(augmentation, schemaInferenceStack);
+            endSection();
+        }
+        if (hasNotifications && !this.useDefinitions) {
+            beginSection(NOTIFICATIONS);
+            writeAugmentationNotifications(module, schemaInferenceStack);
+            endSection();
+        }
+        if (!this.ndjson) {
+            this.writer.endObject();
         }
     }
 
-    private void appendNotificationsToAugmentationJson(final Module module, final JSONObject augmentationJson,
+    private void writeAugmentationNotifications(final Module module,
             final SchemaInferenceStack schemaInferenceStack) {
         for (final NotificationDefinition notification : module.getNotifications()) {
-            final JSONObject jsonNotification = new JSONObject();
-            for (final DataSchemaNode node : notification.getChildNodes()) {
-                jsonNotification.append(CHILDREN, resolveChildMetadata(node, Optional.of(false), schemaInferenceStack));
-            }
-            putNotificationDataToJsonNotification(notification, jsonNotification, schemaInferenceStack);
-            augmentationJson.append(NOTIFICATIONS, jsonNotification);
+            writeNotification(notification, schemaInferenceStack);
         }
     }
 
-    private void appendActionsToAugmentationJson(final AugmentationSchemaNode augmentation,
-            final JSONObject augmentationJson,
+    private void writeAugmentationActions(final AugmentationSchemaNode augmentation,
             final SchemaInferenceStack schemaInferenceStack) {
         for (final ActionDefinition child : augmentation.getActions()) {
-            schemaInferenceStack.enterSchemaTree(child.getQName());
-            final JSONObject jsonModuleChildAction = new JSONObject();
-            jsonModuleChildAction.put(NAME, child.getQName().getLocalName());
-            jsonModuleChildAction.put(DESCRIPTION, child.getDescription().orElse(EMPTY));
-            jsonModuleChildAction.put(STATUS, child.getStatus().name());
-            jsonModuleChildAction.put(TYPE_INFO, new JSONObject());
-            jsonModuleChildAction.put(CLASS, ACTION);
-            jsonModuleChildAction.put(PATH, resolvePath(schemaInferenceStack.toSchemaNodeIdentifier()));
-            jsonModuleChildAction.append(CHILDREN, resolveChildMetadata(child.getInput(), Optional.empty(),
-                    schemaInferenceStack));
-            jsonModuleChildAction.append(CHILDREN, resolveChildMetadata(child.getOutput(), Optional.of(false),
-                    schemaInferenceStack));
-            augmentationJson.append(CHILDREN, jsonModuleChildAction);
-            schemaInferenceStack.exit();
+            writeAction(child, Optional.empty(), schemaInferenceStack);
         }
     }
 
-    private void appendRpcsToJsonTree(final Module module, final JSONObject jsonTree,
+    private void writeAction(final ActionDefinition action, final Optional<Boolean> isConfig,
             final SchemaInferenceStack schemaInferenceStack) {
+        schemaInferenceStack.enterSchemaTree(action.getQName());
+        writeOperation(action, ACTION, isConfig, schemaInferenceStack);
+        schemaInferenceStack.exit();
+    }
+
+    private void writeOperation(final OperationDefinition operation, final String nodeClass,
+            final Optional<Boolean> isConfig, final SchemaInferenceStack schemaInferenceStack) {
+        beginNode(operation.getQName().getLocalName(), nodeClass, operation, schemaInferenceStack);
+        this.writer.name(TYPE_INFO).emptyObject();
+        beginChildren();
+        writeChildMetadata(operation.getInput(), isConfig, schemaInferenceStack);
+        writeChildMetadata(operation.getOutput(), Optional.of(false), schemaInferenceStack);
+        endChildren();
+    }
+
+    private void writeRpcs(final Module module, final SchemaInferenceStack schemaInferenceStack) {
+        if (module.getRpcs().isEmpty()) {
+            return;
+        }
+        beginSection(RPCS);
         for (final RpcDefinition rpc : module.getRpcs()) {
             schemaInferenceStack.enterSchemaTree(rpc.getQName());
-            final JSONObject jsonRpc = new JSONObject();
-            jsonRpc.put(NAME, rpc.getQName().getLocalName());
-            jsonRpc.put(DESCRIPTION, rpc.getDescription().orElse(EMPTY));
-            jsonRpc.put(STATUS, rpc.getStatus().name());
-            jsonRpc.put(TYPE_INFO, new JSONObject());
-            jsonRpc.put(CLASS, RPC);
-            jsonRpc.put(PATH, resolvePath(schemaInferenceStack.toSchemaNodeIdentifier()));
-            jsonRpc.append(CHILDREN, resolveChildMetadata(rpc.getInput(), Optional.empty(), schemaInferenceStack));
-            jsonRpc.append(CHILDREN, resolveChildMetadata(rpc.getOutput(), Optional.of(false), schemaInferenceStack));
-            jsonTree.append(RPCS, jsonRpc);
+            writeOperation(rpc, RPC, Optional.empty(), schemaInferenceStack);
             schemaInferenceStack.exit();
         }
+        endSection();
     }
 
-    private void appendNotificationsToJsonTree(final Module module, final JSONObject jsonTree,
-            final SchemaInferenceStack schemaInferenceStack) {
+    private void writeNotifications(final Module module, final SchemaInferenceStack schemaInferenceStack) {
+        if (module.getNotifications().isEmpty()) {
+            return;
+        }
+        beginSection(NOTIFICATIONS);
         for (final NotificationDefinition notification : module.getNotifications()) {
             schemaInferenceStack.enterSchemaTree(notification.getQName());
-            final JSONObject jsonNotification = new JSONObject();
-            for (final DataSchemaNode node : notification.getChildNodes()) {
-                jsonNotification.append(CHILDREN, resolveChildMetadata(node, Optional.of(false), schemaInferenceStack));
-            }
-            putNotificationDataToJsonNotification(notification, jsonNotification, schemaInferenceStack);
-            jsonTree.append(NOTIFICATIONS, jsonNotification);
+            writeNotification(notification, schemaInferenceStack);
             schemaInferenceStack.exit();
         }
+        endSection();
     }
 
-    private void putNotificationDataToJsonNotification(final NotificationDefinition notification,
-            final JSONObject jsonNotification, final SchemaInferenceStack schemaInferenceStack) {
-        jsonNotification.put(NAME, notification.getQName().getLocalName());
-        jsonNotification.put(DESCRIPTION, notification.getDescription().orElse(EMPTY));
-        jsonNotification.put(STATUS, notification.getStatus().name());
-        jsonNotification.put(TYPE_INFO, new JSONObject());
-        jsonNotification.put(CLASS, NOTIFICATION);
-        jsonNotification.put(PATH, schemaInferenceStack.toSchemaNodeIdentifier());
+    private void writeNotification(final NotificationDefinition notification,
+            final SchemaInferenceStack schemaInferenceStack) {
+        this.writer.beginObject()
+                .name(NAME).value(notification.getQName().getLocalName())
+                .name(CLASS).value(NOTIFICATION)
+                .name(STATUS).value(notification.getStatus().name())
+                .name(DESCRIPTION).value(notification.getDescription().orElse(EMPTY))
+                .name(PATH).value(String.valueOf(schemaInferenceStack.toSchemaNodeIdentifier()))
+                .name(TYPE_INFO).emptyObject();
+        if (notification.getChildNodes().isEmpty()) {
+            this.writer.endObject();
+            return;
+        }
+        beginChildren();
+        for (final DataSchemaNode node : notification.getChildNodes()) {
+            writeChildMetadata(node, Optional.of(false), schemaInferenceStack);
+        }
+        endChildren();
     }
 
-    private void appendChildNodesToJsonTree(final Module module, final JSONObject jsonTree,
-            final SchemaInferenceStack schemaInferenceStack) {
+    private void writeChildNodes(final Module module, final SchemaInferenceStack schemaInferenceStack) {
+        if (module.getChildNodes().isEmpty()) {
+            return;
+        }
+        beginSection(CHILDREN);
         for (final DataSchemaNode node : module.getChildNodes()) {
-            jsonTree.append(CHILDREN, resolveChildMetadata(node, Optional.empty(), schemaInferenceStack));
+            writeChildMetadata(node, Optional.empty(), schemaInferenceStack);
         }
+        endSection();
     }
 
-    private Boolean isAugmentConfig(final AugmentationSchemaNode augmentation) {
-        final List<QName> qNames = new ArrayList<>();
-        Collection<? extends ActionDefinition> actions = new HashSet<>();
-        boolean isAction = false;
-        for (final QName path : augmentation.getTargetPath().getNodeIdentifiers()) {
-            if (isAction) {
-                return !OUTPUT_TEXT.equals(path.getLocalName());
-            }
-            if (shouldSkipThisIteration(actions, path)) {
-                isAction = true;
-                continue;
-            }
+    /**
+     * Start array of nodes in the module or augmentation object. Nodes are not nested in NDJSON, so there is no
+     * array.
+     */
+    private void beginSection(final String name) {
+        if (!this.ndjson) {
+            this.writer.name(name).beginArray();
+        }
+    }
 
-            qNames.add(path);
-            final Optional<DataSchemaNode> dataTreeChild = schemaContext.findDataTreeChild(qNames);
-            if (dataTreeChild.isPresent()) {
-                final Optional<Boolean> isConfig = dataTreeChild.get().effectiveConfig();
-                if (isConfig.isPresent() && !isConfig.get()) {
-                    return false;
-                }
-                if (dataTreeChild.get() instanceof ActionNodeContainer) {
-                    actions = ((ActionNodeContainer) dataTreeChild.get()).getActions();
-                }
-            } else {
-                qNames.remove(path);
-            }
+    private void endSection() {
+        if (!this.ndjson) {
+            this.writer.endArray();
         }
-        return true;
     }
 
-    private boolean shouldSkipThisIteration(final Collection<? extends ActionDefinition> actions, final QName path) {
-        for (final ActionDefinition action : actions) {
-            if (action.getQName().getLocalName().equals(path.getLocalName())) {
-                return true;
-            }
+    /**
+     * Start array of the child nodes of the current node. In NDJSON the current node is finished instead and the
+     * child nodes follow on their own lines.
+     */
+    private void beginChildren() {
+        if (this.ndjson) {
+            this.writer.endObject();
+        } else {
+            this.writer.name(CHILDREN).beginArray();
+        }
+    }
+
+    private void endChildren() {
+        if (!this.ndjson) {
+            this.writer.endArray().endObject();
         }
-        return false;
     }
 
     @Override
@@ -267,76 +365,104 @@ public class JsonTree extends FormatPlugin {
 
     @Override
     public Optional<GroupArguments> getGroupArguments() {
-        return Optional.empty();
+        final GroupArguments groupArguments = new GroupArguments(HELP_NAME,
+                "Json tree format based arguments: ");
+        groupArguments.addOption("Style of the json tree. Pretty prints indented json, compact prints json"
+                        + " without whitespaces and ndjson prints module metadata and each node on a separate"
+                        + " line without its children.",
+                Collections.singletonList("--json-tree-style"), false, "?", PRETTY,
+                new CollectionArgumentChoice<>(Arrays.asList(PRETTY, COMPACT, NDJSON)), String.class);
+        groupArguments.addOption("Print each expansion of a grouping only once in the definitions section and"
+                        + " reference it from the nodes using the grouping. Module notifications are not repeated"
+                        + " in the augmentations.",
+                Collections.singletonList("--json-tree-definitions"), true, null, null,
+                new CollectionArgumentChoice<>(Collections.emptyList()), Boolean.TYPE);
+        return Optional.of(groupArguments);
+    }
+
+    private void beginNode(final String name, final String nodeClass, final SchemaNode node,
+            final SchemaInferenceStack schemaInferenceStack) {
+        this.writer.beginObject()
+                .name(NAME).value(name)
+                .name(CLASS).value(nodeClass)
+                .name(STATUS).value(node.getStatus().name())
+                .name(DESCRIPTION).value(node.getDescription().orElse(EMPTY))
+                .name(PATH).value(resolvePath(schemaInferenceStack.toSchemaNodeIdentifier()));
     }
 
-    private JSONObject resolveChildMetadata(final DataSchemaNode node, final Optional<Boolean> isConfig,
+    private void writeChildMetadata(final DataSchemaNode node, final Optional<Boolean> isConfig,
             final SchemaInferenceStack schemaInferenceStack) {
-        final JSONObject jsonModuleChild = new JSONObject();
-        jsonModuleChild.put(NAME, node.getQName().getLocalName());
-        jsonModuleChild.put(CONFIG, isConfig.orElse(node.isConfiguration()));
-        jsonModuleChild.put(DESCRIPTION, node.getDescription().orElse(EMPTY));
-        jsonModuleChild.put(STATUS, node.getStatus().name());
-        jsonModuleChild.put(TYPE_INFO, new JSONObject());
-        jsonModuleChild.put(CLASS, resolveNodeClass(node));
         schemaInferenceStack.enterSchemaTree(node.getQName());
-        jsonModuleChild.put(PATH, resolvePath(schemaInferenceStack.toSchemaNodeIdentifier()));
-        if (node instanceof ActionNodeContainer) {
-            for (final ActionDefinition child : ((ActionNodeContainer) node).getActions()) {
-                schemaInferenceStack.enterSchemaTree(child.getQName());
-                final JSONObject jsonModuleChildAction = new JSONObject();
-                jsonModuleChildAction.put(NAME, child.getQName().getLocalName());
-                jsonModuleChildAction.put(DESCRIPTION, child.getDescription().orElse(EMPTY));
-                jsonModuleChildAction.put(STATUS, child.getStatus().name());
-                jsonModuleChildAction.put(TYPE_INFO, new JSONObject());
-                jsonModuleChildAction.put(PATH, resolvePath(schemaInferenceStack.toSchemaNodeIdentifier()));
-                jsonModuleChildAction.put(CLASS, ACTION);
-                jsonModuleChildAction.append(CHILDREN, resolveChildMetadata(child.getInput(), isConfig,
-                        schemaInferenceStack));
-                jsonModuleChildAction.append(CHILDREN, resolveChildMetadata(child.getOutput(), Optional.of(false),
-                        schemaInferenceStack));
-                jsonModuleChild.append(CHILDREN, jsonModuleChildAction);
-                schemaInferenceStack.exit();
+        beginNode(node.getQName().getLocalName(), resolveNodeClass(node), node, schemaInferenceStack);
+        this.writer.name(CONFIG).value(isConfig.orElse(node.isConfiguration()));
+        if (node instanceof TypedDataSchemaNode) {
+            this.writer.name(TYPE_INFO);
+            writeType((TypedDataSchemaNode) node);
+            if (this.ndjson) {
+                this.writer.endObject();
+            } else {
+                this.writer.name(CHILDREN).emptyArray().endObject();
             }
+            schemaInferenceStack.exit();
+            return;
         }
-        if (node instanceof DataNodeContainer) {
-            for (final DataSchemaNode child : ((DataNodeContainer) node).getChildNodes()) {
-                jsonModuleChild.append(CHILDREN, resolveChildMetadata(child, isConfig, schemaInferenceStack));
+        this.writer.name(TYPE_INFO).emptyObject();
+        final Collection<? extends ActionDefinition> actions = node instanceof ActionNodeContainer
+                ? ((ActionNodeContainer) node).getActions() : Collections.emptyList();
+        final Collection<? extends DataSchemaNode> children;
+        if (this.useDefinitions && node instanceof DataNodeContainer) {
+            final GroupingDefinitions.Expansions expansions = this.definitions.resolve(node, isConfig,
+                    schemaInferenceStack.toSchemaNodeIdentifier());
+            if (!expansions.getIds().isEmpty()) {
+                this.writer.name(USES).beginArray();
+                for (final String id : expansions.getIds()) {
+                    this.writer.value(id);
+                }
+                this.writer.endArray();
             }
+            children = expansions.getInPlaceChildren();
+        } else if (node instanceof DataNodeContainer) {
+            children = ((DataNodeContainer) node).getChildNodes();
         } else if (node instanceof ChoiceSchemaNode) {
-            for (final CaseSchemaNode caseNode : ((ChoiceSchemaNode) node).getCases()) {
-                jsonModuleChild.append(CHILDREN, resolveChildMetadata(caseNode, isConfig, schemaInferenceStack));
+            children = ((ChoiceSchemaNode) node).getCases();
+        } else {
+            children = Collections.emptyList();
+        }
+        if (actions.isEmpty() && children.isEmpty()) {
+            this.writer.endObject();
+        } else {
+            beginChildren();
+            for (final ActionDefinition child : actions) {
+                writeAction(child, isConfig, schemaInferenceStack);
             }
-        } else if (node instanceof TypedDataSchemaNode) {
-            jsonModuleChild.put(TYPE_INFO, resolveType(((TypedDataSchemaNode) node).getType()));
-            jsonModuleChild.put(CHILDREN, Collections.emptyList());
+            for (final DataSchemaNode child : children) {
+                writeChildMetadata(child, isConfig, schemaInferenceStack);
+            }
+            endChildren();
         }
         schemaInferenceStack.exit();
-        return jsonModuleChild;
     }
 
-    private JSONObject resolveType(final TypeDefinition<? extends TypeDefinition<?>> nodeType) {
-        final JSONObject jsonLeafType = new JSONObject();
-        final QName typeqName = nodeType.getQName();
-        final int equals = typeqName.getNamespace().compareTo(XMLNamespace.of(BASETYPENAMESPACE));
-        final String type;
-        if (equals == 0) {
-            type = typeqName.getLocalName();
-        } else if (nodeType instanceof IdentityrefTypeDefinition) {
-            type = typeqName.getLocalName();
-            for (final IdentitySchemaNode base : ((IdentityrefTypeDefinition) nodeType).getIdentities()) {
-                jsonLeafType.append(BASE, base.getQName().getLocalName());
+    private void writeType(final TypedDataSchemaNode node) {
+        final TypeDefinition<? extends TypeDefinition<?>> nodeType = node.getType();
+        this.writer.beginObject();
+        this.writer.name(TYPE).value(this.descriptorCache.getDescriptor(node)
+                .getQualifiedTypeName());
+        this.writer.name(DESCRIPTION).value(nodeType.getDescription().orElse(EMPTY));
+        nodeType.getDefaultValue().ifPresent(value -> this.writer.name(DEFAULT).value(String.valueOf(value)));
+        if (nodeType instanceof IdentityrefTypeDefinition
+                && !BASETYPENAMESPACE.equals(nodeType.getQName().getNamespace().toString())) {
+            final Collection<? extends IdentitySchemaNode> identities =
+                    ((IdentityrefTypeDefinition) nodeType).getIdentities();
+            if (!identities.isEmpty()) {
+                this.writer.name(BASE).beginArray();
+                for (final IdentitySchemaNode base : identities) {
+                    this.writer.value(base.getQName().getLocalName());
+                }
+                this.writer.endArray();
             }
-        } else {
-            final String prefix = schemaContext.findModule(typeqName.getNamespace(), typeqName.getRevision())
-                    .orElseThrow(() -> new NotFoundException(MODULE_STRING, typeqName.getNamespace().toString()))
-                    .getPrefix();
-            type = prefix + COLON + typeqName.getLocalName();
         }
-        jsonLeafType.put(DESCRIPTION, nodeType.getDescription().orElse(EMPTY));
-        jsonLeafType.put(TYPE, type);
-        nodeType.getDefaultValue().ifPresent(value -> jsonLeafType.put(DEFAULT, value));
-        return jsonLeafType;
+        this.writer.endObject();
     }
 
     private String resolveNodeClass(final DataSchemaNode node) {
@@ -362,26 +488,37 @@ public class JsonTree extends FormatPlugin {
         }
     }
 
-    private JSONObject resolveModuleMetadata(final Module module) {
-        final JSONObject jsonModuleMetadata = new JSONObject();
-        jsonModuleMetadata.put(NAME, module.getName());
-        jsonModuleMetadata.put(REVISION, module.getRevision().orElse(Revision.of(EARLIEST_REVISION)).toString());
-        jsonModuleMetadata.put(NAMESPACE, module.getNamespace());
-        jsonModuleMetadata.put(PREFIX, module.getPrefix());
-        jsonModuleMetadata.put(CONTACT, module.getContact().orElse(EMPTY));
-        jsonModuleMetadata.put(DESCRIPTION, module.getDescription().orElse(EMPTY));
-        return jsonModuleMetadata;
+    private void writeModuleMetadata(final Module module) {
+        this.writer.beginObject();
+        if (this.ndjson) {
+            this.writer.name(CLASS).value(MODULE);
+        }
+        this.writer.name(NAME).value(module.getName())
+                .name(REVISION).value(module.getRevision().orElse(Revision.of(EARLIEST_REVISION)).toString())
+                .name(NAMESPACE).value(module.getNamespace().toString())
+                .name(PREFIX).value(module.getPrefix())
+                .name(CONTACT).value(module.getContact().orElse(EMPTY))
+                .name(DESCRIPTION).value(module.getDescription().orElse(EMPTY))
+                .endObject();
     }
 
+    /**
+     * Resolve path of the node. Paths of the nodes of grouping expansions in the definitions are relative to the node
+     * where the grouping is used.
+     */
     private String resolvePath(final SchemaNodeIdentifier schemaNodeIdentifier) {
-        final Iterable<QName> pathFromRoot = schemaNodeIdentifier.getNodeIdentifiers();
-        final StringBuilder path = new StringBuilder(SLASH);
-        for (final QName pathQname : pathFromRoot) {
-            schemaContext.findModule(pathQname.getModule()).ifPresent(module1 -> path.append(module1.getPrefix()));
-            path.append(COLON)
+        final List<QName> pathFromRoot = schemaNodeIdentifier.getNodeIdentifiers();
+        final StringBuilder path = new StringBuilder(this.relativePathStart == 0 ? SLASH : CURRENT + SLASH);
+        for (final QName pathQname : pathFromRoot.subList(this.relativePathStart, pathFromRoot.size())) {
+            path.append(resolvePrefix(pathQname))
+                    .append(COLON)
                     .append(pathQname.getLocalName())
                     .append(SLASH);
         }
         return path.toString();
     }
+
+    private String resolvePrefix(final QName qname) {
+        return schemaContext.findModule(qname.getModule()).map(Module::getPrefix).orElse(EMPTY);
+    }
 }
@@ -7,14 +7,22 @@
  */
 package io.lighty.yang.validator.formats;
 
+import com.google.common.collect.ImmutableSet;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.lighty.yang.validator.GroupArguments;
 import io.lighty.yang.validator.exceptions.NotFoundException;
+import io.lighty.yang.validator.formats.utility.ParseVerifier;
 import io.lighty.yang.validator.formats.yang.printer.ModulePrinter;
 import io.lighty.yang.validator.simplify.SchemaTree;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -25,6 +33,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
@@ -34,6 +43,7 @@ import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,7 +78,13 @@ public class MultiModulePrinter extends FormatPlugin {
         printEachYangModule();
     }
 
+    /**
+     * Print each module, which is one of the sources or which is used by them. Used typedefs and imports are
+     * frozen before printing, so modules written to files are printed concurrently and the output is the same as if
+     * they were printed one after another. Modules printed to the log are printed in order.
+     */
     private void printEachYangModule() {
+        final List<ModuleToPrint> modules = new ArrayList<>();
         for (final Map.Entry<QNameModule, Set<SchemaTree>> entry : subtrees.entrySet()) {
             final Module module = this.schemaContext.findModule(entry.getKey())
                     .orElseThrow(() -> new NotFoundException(MODULE_STRING, entry.getKey().toString()));
@@ -80,26 +96,97 @@ public class MultiModulePrinter extends FormatPlugin {
                     && !this.sources.isEmpty()) {
                 continue;
             }
-            final ModulePrinter modulePrinter;
-            if (this.output == null) {
-                LOG.info("\n\nprinting yang module {}\n", name);
-                modulePrinter = new ModulePrinter(entry.getValue(), this.schemaContext, entry.getKey(), LOG,
-                        this.usedImportedTypeDefs.computeIfAbsent(module.getQNameModule(), k -> new HashSet<>()),
-                        this.usedImports.computeIfAbsent(module.getQNameModule(), k -> new HashSet<>()));
-                modulePrinter.printYang();
+            modules.add(new ModuleToPrint(name, RevisionSourceIdentifier.create(module.getName(), module.getRevision()),
+                    entry.getKey(), entry.getValue(),
+                    freezeTypes(this.usedImportedTypeDefs.getOrDefault(entry.getKey(), Set.of())),
+                    ImmutableSet.copyOf(this.usedImports.getOrDefault(entry.getKey(), Set.of()))));
+        }
+        final boolean verify = this.configuration.isVerify();
+        final Map<SourceIdentifier, byte[]> generated = new ConcurrentHashMap<>();
+        if (this.output == null) {
+            if (verify) {
+                // each module is printed only once, to the memory, and the verified text is logged
+                modules.parallelStream().forEach(module -> generated.put(module.identifier, printToMemory(module)));
+                modules.forEach(module -> logText(module, generated.get(module.identifier)));
             } else {
-                try (OutputStream os = new FileOutputStream(this.output.resolve(name).toFile())) {
-                    modulePrinter = new ModulePrinter(entry.getValue(), this.schemaContext, entry.getKey(), os,
-                            this.usedImportedTypeDefs.computeIfAbsent(module.getQNameModule(), k -> new HashSet<>()),
-                            this.usedImports.computeIfAbsent(module.getQNameModule(), k -> new HashSet<>()));
-                    modulePrinter.printYang();
-                } catch (final IOException e) {
-                    LOG.error("Can not create file {}", this.output.resolve(name).toFile().getAbsolutePath(), e);
-                }
+                modules.forEach(this::printToLog);
+            }
+        } else {
+            modules.parallelStream().forEach(module -> printToFile(module, verify ? generated : null));
+        }
+        if (verify) {
+            verifyModules(generated);
+        }
+    }
+
+    /**
+     * Parse the generated modules together with the original sources of the modules they use, to check that the
+     * output is valid.
+     */
+    private void verifyModules(final Map<SourceIdentifier, byte[]> generated) {
+        final List<String> errors = ParseVerifier.verify(generated, this.contextSources,
+                this.configuration.getSupportedFeatures());
+        if (!errors.isEmpty()) {
+            for (final String error : errors) {
+                LOG.error("Generated yang modules can not be parsed: {}", error);
+            }
+        } else {
+            LOG.info("Verified {} generated yang modules", generated.size());
+        }
+    }
+
+    private static Set<TypeDefinition<?>> freezeTypes(final Set<TypeDefinition<?>> types) {
+        // types are matched by QName, which is what the gathered sets use
+        final Set<TypeDefinition<?>> copy = newTypeSet();
+        copy.addAll(types);
+        return Collections.unmodifiableSet(copy);
+    }
+
+    private static Set<TypeDefinition<?>> newTypeSet() {
+        return new TreeSet<>(Comparator.comparing(SchemaNode::getQName));
+    }
+
+    private void printToLog(final ModuleToPrint module) {
+        LOG.info("\n\nprinting yang module {}\n", module.name);
+        new ModulePrinter(module.trees, this.schemaContext, module.qnameModule, LOG, module.usedTypes,
+                module.usedImports).printYang();
+    }
+
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
+                        justification = "Valid output from LYV is dependent on Logback output")
+    private static void logText(final ModuleToPrint module, final byte[] text) {
+        LOG.info("\n\nprinting yang module {}\n", module.name);
+        // text is printed to the memory in the default charset, like the files are
+        new String(text, Charset.defaultCharset()).lines().forEach(line -> LOG.info("{}", line));
+    }
+
+    private void printToFile(final ModuleToPrint module, final Map<SourceIdentifier, byte[]> generated) {
+        final Path file = this.output.resolve(module.name);
+        if (generated != null) {
+            final byte[] text = printToMemory(module);
+            generated.put(module.identifier, text);
+            try {
+                Files.write(file, text);
+            } catch (final IOException e) {
+                LOG.error("Can not create file {}", file.toFile().getAbsolutePath(), e);
             }
+            return;
+        }
+        try (OutputStream os = new FileOutputStream(file.toFile())) {
+            new ModulePrinter(module.trees, this.schemaContext, module.qnameModule, os, module.usedTypes,
+                    module.usedImports).printYang();
+        } catch (final IOException | UncheckedIOException e) {
+            LOG.error("Can not create file {}", file.toFile().getAbsolutePath(), e);
         }
     }
 
+    private byte[] printToMemory(final ModuleToPrint module) {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        new ModulePrinter(module.trees, this.schemaContext, module.qnameModule, os, module.usedTypes,
+                module.usedImports).printYang();
+        return os.toByteArray();
+    }
+
     private void resolveAugmentationsImports() {
         for (final Map.Entry<QNameModule, Set<SchemaTree>> entry : subtrees.entrySet()) {
             final Module module = this.schemaContext.findModule(entry.getKey())
@@ -145,7 +232,7 @@ public class MultiModulePrinter extends FormatPlugin {
         final String rootLocalName = rootType.getQName().getLocalName();
         if (!Objects.equals(rootLocalName, type.getQName().getLocalName()) && !rootLocalName.equals("boolean")) {
             final QNameModule mod = QNameModule.create(type.getQName().getNamespace(), type.getQName().getRevision());
-            usedImportedTypeDefs.computeIfAbsent(mod, k -> new TreeSet<>(Comparator.comparing(SchemaNode::getQName)))
+            usedImportedTypeDefs.computeIfAbsent(mod, k -> newTypeSet())
                     .add(type);
             usedImports.computeIfAbsent(module.getQNameModule(), k -> new HashSet<>())
                     .add(this.schemaContext.findModule(mod)
@@ -178,7 +265,31 @@ public class MultiModulePrinter extends FormatPlugin {
 
     @Override
     public Optional<GroupArguments> getGroupArguments() {
-        return Optional.empty();
+        final GroupArguments groupArguments = new GroupArguments(HELP_NAME,
+                "Yang format based arguments: ");
+        groupArguments.addOption("Parse the generated modules in memory together with the original sources of the"
+                        + " modules they use and report the modules, which can not be parsed.",
+                Collections.singletonList("--verify"), true, null, null, null, Boolean.TYPE);
+        return Optional.of(groupArguments);
     }
-}
 
+    private static final class ModuleToPrint {
+
+        private final String name;
+        private final SourceIdentifier identifier;
+        private final QNameModule qnameModule;
+        private final Set<SchemaTree> trees;
+        private final Set<TypeDefinition<?>> usedTypes;
+        private final Set<String> usedImports;
+
+        ModuleToPrint(final String name, final SourceIdentifier identifier, final QNameModule qnameModule,
+                final Set<SchemaTree> trees, final Set<TypeDefinition<?>> usedTypes, final Set<String> usedImports) {
+            this.name = name;
+            this.identifier = identifier;
+            this.qnameModule = qnameModule;
+            this.trees = trees;
+            this.usedTypes = usedTypes;
+            this.usedImports = usedImports;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.lighty.yang.validator.GroupArguments;
+import io.lighty.yang.validator.formats.utility.ModuleTreeVisitor;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import net.sourceforge.argparse4j.impl.choice.CollectionArgumentChoice;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.api.YangParser;
+import org.opendaylight.yangtools.yang.parser.api.YangParserException;
+import org.opendaylight.yangtools.yang.parser.api.YangParserFactory;
+import org.opendaylight.yangtools.yang.parser.impl.DefaultYangParserFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Estimates heap needed at runtime by the schema of each module and by the bindings of its data, and ranks the modules
+ * by the estimate.
+ *
+ * <p>
+ * Estimate is a weighted sum of the properties of the schema tree of the module, with all groupings expanded.
+ * The weights are relative costs rather than exact sizes: every data node costs its effective statement and schema
+ * tree entry, lists cost more the deeper they are nested because their entries multiply in the data tree, each case
+ * of a choice needs its own container, each pattern is compiled to a regular expression and each member type of
+ * a union is tried when a value is parsed. Optionally retained heap of the whole context is measured, by parsing it
+ * once more and comparing used heap after garbage collection, and the estimates are scaled to the measured size.
+ */
+public class RuntimeCost extends FormatPlugin {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RuntimeCost.class);
+    private static final String HELP_NAME = "cost";
+    private static final String HELP_DESCRIPTION = "return estimated runtime heap cost of each module";
+    private static final YangParserFactory PARSER_FACTORY = new DefaultYangParserFactory();
+    private static final int GC_ROUNDS = 3;
+    private static final long KIB = 1024;
+
+    private static final long NODE_COST = 600;
+    private static final long LIST_COST = 400;
+    private static final long CASE_COST = 200;
+    private static final long PATTERN_COST = 2000;
+    private static final long UNION_MEMBER_COST = 300;
+
+    @Override
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
+                        justification = "Valid output from LYV is dependent on Logback output")
+    void emitFormat() {
+        final List<ModuleCost> costs = this.schemaContext.getModules().parallelStream()
+                .map(ModuleCost::new)
+                .sorted(Comparator.comparingLong(ModuleCost::getEstimate).reversed()
+                        .thenComparing(cost -> cost.id))
+                .collect(Collectors.toList());
+        final long total = costs.stream().mapToLong(ModuleCost::getEstimate).sum();
+        double scale = 1;
+        if (this.configuration.isCostMeasureHeap()) {
+            final Optional<Long> measured = measureContextHeap();
+            if (measured.isPresent()) {
+                LOG.info("Measured retained heap of the schema context: {} KiB, estimated: {} KiB",
+                        measured.get() / KIB, total / KIB);
+                if (total > 0 && measured.get() > 0) {
+                    scale = (double) measured.get() / total;
+                }
+            }
+        } else {
+            LOG.info("Estimated heap of the schema context: {} KiB", total / KIB);
+        }
+        final String header = String.format(Locale.ENGLISH, "%4s %-45s %10s %6s %5s %7s %7s %5s %9s %8s %10s",
+                "rank", "module", "cost[KiB]", "nodes", "lists", "nesting", "choices", "cases", "max-cases",
+                "patterns", "unions/max");
+        LOG.info("{}", header);
+        int rank = 1;
+        for (final ModuleCost cost : costs) {
+            final String line = String.format(Locale.ENGLISH, "%4d %-45s %10d %6d %5d %7d %7d %5d %9d %8d %10s",
+                    rank++, cost.id, Math.round(cost.getEstimate() * scale / KIB), cost.nodes, cost.lists,
+                    cost.maxListNesting, cost.choices, cost.cases, cost.maxCases, cost.patterns,
+                    cost.unionMembers + "/" + cost.maxUnionWidth);
+            LOG.info("{}", line);
+        }
+    }
+
+    /**
+     * Parse the sources of the context once more and compare used heap after garbage collection before and after
+     * the parsing. Objects shared with the existing context, like interned names, are not part of the result.
+     *
+     * @return retained heap of the new context in bytes or empty if the sources can not be parsed
+     */
+    private Optional<Long> measureContextHeap() {
+        final long before = usedHeapAfterGc();
+        final EffectiveModelContext context;
+        try {
+            context = parseContext();
+        } catch (final IOException | YangParserException e) {
+            LOG.error("Can not parse the modules to measure heap of the schema context", e);
+            return Optional.empty();
+        }
+        final long after = usedHeapAfterGc();
+        Reference.reachabilityFence(context);
+        return Optional.of(Math.max(0, after - before));
+    }
+
+    /**
+     * Parse the sources of the context once more. Parser is not reachable after this method returns, so only the new
+     * context is retained.
+     */
+    private EffectiveModelContext parseContext() throws IOException, YangParserException {
+        final Set<String> testedNames = this.sources.stream().map(RevisionSourceIdentifier::getName)
+                .collect(Collectors.toCollection(HashSet::new));
+        final Set<String> addedNames = new HashSet<>();
+        final YangParser parser = PARSER_FACTORY.createParser();
+        final Set<QName> supportedFeatures = this.configuration.getSupportedFeatures();
+        if (supportedFeatures != null && !supportedFeatures.isEmpty()) {
+            parser.setSupportedFeatures(supportedFeatures);
+        }
+        for (final YangTextSchemaSource source : this.contextSources) {
+            final String name = source.getIdentifier().getName();
+            if (testedNames.contains(name)) {
+                // tested files are found also in the library directories
+                if (addedNames.add(name)) {
+                    parser.addSource(source);
+                }
+            } else {
+                parser.addLibSource(source);
+            }
+        }
+        return parser.buildEffectiveModel();
+    }
+
+    @SuppressFBWarnings(value = "DM_GC", justification = "Heap is measured after garbage collection on purpose")
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    Help getHelp() {
+        return new Help(HELP_NAME, HELP_DESCRIPTION);
+    }
+
+    @Override
+    public Optional<GroupArguments> getGroupArguments() {
+        final GroupArguments groupArguments = new GroupArguments(HELP_NAME,
+                "Cost format based arguments: ");
+        groupArguments.addOption("Measure retained heap of the schema context by parsing the modules once more"
+                        + " and scale the estimates of the modules to the measured size.",
+                Collections.singletonList("--cost-measure-heap"), true, null, null,
+                new CollectionArgumentChoice<>(Collections.emptyList()), Boolean.TYPE);
+        return Optional.of(groupArguments);
+    }
+
+    /**
+     * Properties of the schema tree of one module, as visited by {@link ModuleTreeVisitor}.
+     */
+    private static final class ModuleCost extends ModuleTreeVisitor {
+
+        private final String id;
+        private int listNesting;
+        private int nodes;
+        private int lists;
+        private int listCostUnits;
+        private int maxListNesting;
+        private int choices;
+        private int cases;
+        private int maxCases;
+        private int patterns;
+        private int unionMembers;
+        private int maxUnionWidth;
+
+        ModuleCost(final Module module) {
+            super(module);
+            this.id = module.getName() + module.getRevision().map(revision -> "@" + revision).orElse("");
+            visitModule();
+        }
+
+        long getEstimate() {
+            return nodes * NODE_COST + listCostUnits * LIST_COST + cases * CASE_COST + patterns * PATTERN_COST
+                    + unionMembers * UNION_MEMBER_COST;
+        }
+
+        @Override
+        protected void enterNode(final SchemaNode node, final int depth) {
+            nodes++;
+            if (node instanceof ListSchemaNode) {
+                listNesting++;
+                lists++;
+                listCostUnits += listNesting;
+                maxListNesting = Math.max(maxListNesting, listNesting);
+            } else if (node instanceof ChoiceSchemaNode) {
+                final int choiceCases = ((ChoiceSchemaNode) node).getCases().size();
+                choices++;
+                cases += choiceCases;
+                maxCases = Math.max(maxCases, choiceCases);
+            } else if (node instanceof TypedDataSchemaNode) {
+                visitType(((TypedDataSchemaNode) node).getType());
+            }
+        }
+
+        @Override
+        protected void exitNode(final SchemaNode node) {
+            if (node instanceof ListSchemaNode) {
+                listNesting--;
+            }
+        }
+
+        private void visitType(final TypeDefinition<?> type) {
+            if (type instanceof StringTypeDefinition) {
+                patterns += ((StringTypeDefinition) type).getPatternConstraints().size();
+            } else if (type instanceof UnionTypeDefinition) {
+                final List<TypeDefinition<?>> members = ((UnionTypeDefinition) type).getTypes();
+                unionMembers += members.size();
+                maxUnionWidth = Math.max(maxUnionWidth, members.size());
+                members.forEach(this::visitType);
+            }
+        }
+    }
+}
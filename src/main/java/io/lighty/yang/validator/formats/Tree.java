@@ -28,8 +28,10 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import net.sourceforge.argparse4j.impl.choice.CollectionArgumentChoice;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
 import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
 import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
@@ -43,6 +45,7 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack;
 import org.slf4j.Logger;
@@ -60,6 +63,7 @@ public class Tree extends FormatPlugin {
     private static final String RPCS = "RPCs:";
     private static final String NOTIFICATION = "notifications:";
 
+    private final StringBuilder lineBuilder = new StringBuilder();
     private Map<XMLNamespace, String> namespacePrefix = new HashMap<>();
     private Module usedModule = null;
     private int treeDepth;
@@ -83,6 +87,13 @@ public class Tree extends FormatPlugin {
         if (this.configuration.getTreeConfiguration().isHelp()) {
             printHelp();
         }
+        final List<String> treePaths = this.configuration.getTreeConfiguration().getTreePaths();
+        if (!treePaths.isEmpty()) {
+            for (final String treePath : treePaths) {
+                printTreePath(treePath);
+            }
+            return;
+        }
         for (final RevisionSourceIdentifier source : this.sources) {
             usedModule = this.schemaContext.findModule(source.getName(), source.getRevision())
                     .orElseThrow(() -> new NotFoundException("Module", source.getName()));
@@ -99,12 +110,12 @@ public class Tree extends FormatPlugin {
             }
 
             // Nodes
-            printLines(getSchemaNodeLines(rootNodes));
+            printSchemaNodeLines(rootNodes);
 
             // Augmentations
             final Map<List<QName>, Set<SchemaTree>> augments = getAugmentationMap();
             for (final Map.Entry<List<QName>, Set<SchemaTree>> st : augments.entrySet()) {
-                printLines(getAugmentedLines(st));
+                printAugmentedLines(st);
             }
 
             // Rpcs
@@ -112,21 +123,20 @@ public class Tree extends FormatPlugin {
             if (rpcs.hasNext()) {
                 LOG.info("{}", RPCS.substring(0, min(RPCS.length(), lineLength)));
             }
-            printLines(getRpcsLines(rpcs));
+            printRpcsLines(rpcs);
 
             // Notifications
             final Iterator<? extends NotificationDefinition> notifications = usedModule.getNotifications().iterator();
             if (notifications.hasNext()) {
                 LOG.info("{}", NOTIFICATION.substring(0, min(NOTIFICATION.length(), lineLength)));
             }
-            printLines(getNotificationLines(notifications));
+            printNotificationLines(notifications);
         }
     }
 
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
-    private List<Line> getAugmentedLines(final Entry<List<QName>, Set<SchemaTree>> st) {
-        final List<Line> lines = new ArrayList<>();
+    private void printAugmentedLines(final Entry<List<QName>, Set<SchemaTree>> st) {
         final StringBuilder pathBuilder = new StringBuilder();
         for (final QName qname : st.getKey()) {
             pathBuilder.append(SLASH);
@@ -142,38 +152,179 @@ public class Tree extends FormatPlugin {
         int augmentationNodes = st.getValue().size();
         for (final SchemaTree value : st.getValue()) {
             final DataSchemaNode node = value.getSchemaNode();
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
+            final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, node, Collections.emptyList(),
                     value.getAbsolutePath());
             final ConsoleLine consoleLine = new ConsoleLine(Collections.emptyList(), lyvNodeData, RpcInputOutput.OTHER,
                     namespacePrefix);
-            lines.add(consoleLine);
-            resolveChildNodes(lines, new ArrayList<>(), value, --augmentationNodes > 0,
+            printLine(consoleLine);
+            resolveChildNodes(new ArrayList<>(), value, --augmentationNodes > 0,
                     RpcInputOutput.OTHER, Collections.emptyList());
             this.treeDepth++;
         }
-        return lines;
     }
 
-    private List<Line> getSchemaNodeLines(final AtomicInteger rootNodes) {
-        final List<Line> lines = new ArrayList<>();
+    private void printSchemaNodeLines(final AtomicInteger rootNodes) {
         for (final SchemaTree st : this.schemaTree.getChildren()) {
             if (st.getQname().getModule().equals(usedModule.getQNameModule()) && !st.isAugmenting()) {
                 final DataSchemaNode node = st.getSchemaNode();
-                final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
+                final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, node, Collections.emptyList(),
                         st.getAbsolutePath());
                 final ConsoleLine consoleLine = new ConsoleLine(Collections.emptyList(), lyvNodeData,
                         RpcInputOutput.OTHER, namespacePrefix);
-                lines.add(consoleLine);
+                printLine(consoleLine);
                 List<QName> keyDefinitions = Collections.emptyList();
                 if (node instanceof ListSchemaNode) {
                     keyDefinitions = ((ListSchemaNode) node).getKeyDefinition();
                 }
-                resolveChildNodes(lines, new ArrayList<>(), st, rootNodes.decrementAndGet() > 0,
+                resolveChildNodes(new ArrayList<>(), st, rootNodes.decrementAndGet() > 0,
                         RpcInputOutput.OTHER, keyDefinitions);
                 this.treeDepth++;
             }
         }
-        return lines;
+    }
+
+    /**
+     * Print subtree of the data node on given path, followed by augmentations of the nodes in this subtree. Only
+     * the top level nodes of the schema tree and the requested subtree are visited.
+     *
+     * @param treePath path to the data node in the form /prefix:name/name, where prefix is either a prefix or a name
+     *                 of the module and it can be omitted if the node is from the same module as its parent
+     */
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
+                        justification = "Valid output from LYV is dependent on Logback output")
+    private void printTreePath(final String treePath) {
+        final List<QName> path = resolveTreePath(treePath).getNodeIdentifiers();
+        final SchemaTree start = findSchemaTree(path);
+        if (start == null) {
+            throw new NotFoundException("Node", treePath);
+        }
+        final QName startQName = start.getQname();
+        usedModule = this.schemaContext.findModule(startQName.getModule())
+                .orElseThrow(() -> new NotFoundException("Module", startQName.getNamespace().toString()));
+        namespacePrefix = new HashMap<>();
+        putSchemaContextModuleMatchedWithUsedModuleToNamespacePrefix();
+        final String firstLine = MODULE + usedModule.getName();
+        LOG.info("{}", firstLine.substring(0, min(firstLine.length(), lineLength)));
+
+        final DataSchemaNode node = start.getSchemaNode();
+        final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, node, Collections.emptyList(),
+                start.getAbsolutePath());
+        printLine(new ConsoleLine(Collections.emptyList(), lyvNodeData, RpcInputOutput.OTHER, namespacePrefix));
+        List<QName> keyDefinitions = Collections.emptyList();
+        if (node instanceof ListSchemaNode) {
+            keyDefinitions = ((ListSchemaNode) node).getKeyDefinition();
+        }
+        resolveChildNodes(new ArrayList<>(), start, false, RpcInputOutput.OTHER, keyDefinitions);
+        this.treeDepth++;
+
+        for (final Entry<QNameModule, Map<List<QName>, Set<SchemaTree>>> moduleAugments
+                : getAugmentationMap(path).entrySet()) {
+            usedModule = this.schemaContext.findModule(moduleAugments.getKey())
+                    .orElseThrow(() -> new NotFoundException("Module",
+                            moduleAugments.getKey().getNamespace().toString()));
+            namespacePrefix = new HashMap<>();
+            putSchemaContextModuleMatchedWithUsedModuleToNamespacePrefix();
+            if (!moduleAugments.getKey().equals(startQName.getModule())) {
+                final String moduleLine = MODULE + usedModule.getName();
+                LOG.info("{}", moduleLine.substring(0, min(moduleLine.length(), lineLength)));
+            }
+            for (final Entry<List<QName>, Set<SchemaTree>> st : moduleAugments.getValue().entrySet()) {
+                printAugmentedLines(st);
+            }
+        }
+    }
+
+    private Absolute resolveTreePath(final String treePath) {
+        final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
+        QNameModule module = null;
+        for (final String segment : treePath.split(SLASH)) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            final int colon = segment.indexOf(COLON);
+            if (colon >= 0) {
+                module = findModuleByPrefixOrName(segment.substring(0, colon)).getQNameModule();
+            } else if (module == null) {
+                throw new IllegalArgumentException(String.format(
+                        "First node of the tree path %s has to be prefixed with module prefix or name", treePath));
+            }
+            schemaIS.enterDataTree(QName.create(module, segment.substring(colon + 1)));
+        }
+        if (schemaIS.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Tree path %s is empty", treePath));
+        }
+        return schemaIS.toSchemaNodeIdentifier();
+    }
+
+    /**
+     * Find module with given name or prefix. Module names are unique, so a module with exactly given name is preferred.
+     * Prefixes are not unique across modules, so a prefix has to be used by exactly one module of the context.
+     */
+    private Module findModuleByPrefixOrName(final String prefixOrName) {
+        final Collection<? extends Module> named = this.schemaContext.findModules(prefixOrName);
+        if (!named.isEmpty()) {
+            return named.iterator().next();
+        }
+        final List<Module> prefixed = new ArrayList<>();
+        for (final Module module : this.schemaContext.getModules()) {
+            if (module.getPrefix().equals(prefixOrName)) {
+                prefixed.add(module);
+            }
+        }
+        if (prefixed.isEmpty()) {
+            throw new NotFoundException("Module", prefixOrName);
+        }
+        if (prefixed.size() > 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Prefix %s of the tree path is used by modules %s, use the module name instead", prefixOrName,
+                    prefixed.stream().map(Module::getName).sorted().collect(Collectors.joining(", "))));
+        }
+        return prefixed.get(0);
+    }
+
+    /**
+     * Find node of the schema tree on given path. Augmentations are placed directly under the root of the schema
+     * tree, so the search starts from the top level node with the longest path matching the beginning of the given
+     * path.
+     */
+    private SchemaTree findSchemaTree(final List<QName> path) {
+        SchemaTree current = null;
+        int matched = 0;
+        for (final SchemaTree st : this.schemaTree.getChildren()) {
+            final List<QName> stPath = st.getAbsolutePath().getNodeIdentifiers();
+            if (stPath.size() > matched && stPath.size() <= path.size()
+                    && path.subList(0, stPath.size()).equals(stPath)) {
+                current = st;
+                matched = stPath.size();
+            }
+        }
+        for (int i = matched; current != null && i < path.size(); i++) {
+            current = findChild(current, path.get(i));
+        }
+        return current;
+    }
+
+    private static SchemaTree findChild(final SchemaTree parent, final QName qname) {
+        for (final SchemaTree child : parent.getChildren()) {
+            if (child.getQname().equals(qname)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private Map<QNameModule, Map<List<QName>, Set<SchemaTree>>> getAugmentationMap(final List<QName> path) {
+        final Map<QNameModule, Map<List<QName>, Set<SchemaTree>>> augments = new LinkedHashMap<>();
+        for (final SchemaTree st : this.schemaTree.getChildren()) {
+            final List<QName> stPath = st.getAbsolutePath().getNodeIdentifiers();
+            if (st.isAugmenting() && stPath.size() > path.size()
+                    && stPath.subList(0, path.size()).equals(path)) {
+                augments.computeIfAbsent(st.getQname().getModule(), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(stPath.subList(0, stPath.size() - 1), k -> new LinkedHashSet<>())
+                        .add(st);
+            }
+        }
+        return augments;
     }
 
     private void putSchemaContextModuleMatchedWithUsedModuleToNamespacePrefix() {
@@ -189,67 +340,63 @@ public class Tree extends FormatPlugin {
         }
     }
 
-    private List<Line> getNotificationLines(final Iterator<? extends NotificationDefinition> notifications) {
-        final List<Line> lines = new ArrayList<>();
+    private void printNotificationLines(final Iterator<? extends NotificationDefinition> notifications) {
         final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
         while (notifications.hasNext()) {
             final NotificationDefinition node = notifications.next();
             schemaIS.enterSchemaTree(node.getQName());
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
+            final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, node, Collections.emptyList(),
                     schemaIS.toSchemaNodeIdentifier());
             final ConsoleLine consoleLine = new ConsoleLine(Collections.emptyList(), lyvNodeData, RpcInputOutput.OTHER,
                     namespacePrefix);
-            lines.add(consoleLine);
-            resolveChildNodes(lines, new ArrayList<>(), node, false, RpcInputOutput.OTHER,
+            printLine(consoleLine);
+            resolveChildNodes(new ArrayList<>(), node, false, RpcInputOutput.OTHER,
                     Collections.emptyList(), schemaIS);
             this.treeDepth++;
             schemaIS.exit();
         }
-        return lines;
     }
 
-    private List<Line> getRpcsLines(final Iterator<? extends RpcDefinition> rpcs) {
-        final List<Line> lines = new ArrayList<>();
+    private void printRpcsLines(final Iterator<? extends RpcDefinition> rpcs) {
         final SchemaInferenceStack schemaIS = SchemaInferenceStack.of(this.schemaContext);
         while (rpcs.hasNext()) {
             final RpcDefinition node = rpcs.next();
             schemaIS.enterSchemaTree(node.getQName());
-            LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, node, Collections.emptyList(),
+            LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, node, Collections.emptyList(),
                     schemaIS.toSchemaNodeIdentifier());
             ConsoleLine consoleLine = new ConsoleLine(Collections.emptyList(), lyvNodeData, RpcInputOutput.OTHER,
                     namespacePrefix);
-            lines.add(consoleLine);
+            printLine(consoleLine);
             final boolean inputExists = !node.getInput().getChildNodes().isEmpty();
             final boolean outputExists = !node.getOutput().getChildNodes().isEmpty();
             if (inputExists) {
                 schemaIS.enterSchemaTree(node.getInput().getQName());
-                lyvNodeData = new LyvNodeData(this.schemaContext, node.getInput(), Collections.emptyList(),
+                lyvNodeData = new LyvNodeData(this.descriptorCache, node.getInput(), Collections.emptyList(),
                         schemaIS.toSchemaNodeIdentifier());
                 consoleLine = new ConsoleLine(Collections.singletonList(rpcs.hasNext()), lyvNodeData,
                         RpcInputOutput.INPUT, namespacePrefix);
-                lines.add(consoleLine);
+                printLine(consoleLine);
                 final List<Boolean> isNextRpc = new ArrayList<>(Collections.singleton(rpcs.hasNext()));
-                resolveChildNodes(lines, isNextRpc, node.getInput(), outputExists, RpcInputOutput.INPUT,
+                resolveChildNodes(isNextRpc, node.getInput(), outputExists, RpcInputOutput.INPUT,
                         Collections.emptyList(), schemaIS);
                 schemaIS.exit();
                 this.treeDepth++;
             }
             if (outputExists) {
                 schemaIS.enterSchemaTree(node.getOutput().getQName());
-                lyvNodeData = new LyvNodeData(this.schemaContext, node.getOutput(), Collections.emptyList(),
+                lyvNodeData = new LyvNodeData(this.descriptorCache, node.getOutput(), Collections.emptyList(),
                         schemaIS.toSchemaNodeIdentifier());
                 consoleLine = new ConsoleLine(Collections.singletonList(rpcs.hasNext()), lyvNodeData,
                         RpcInputOutput.OUTPUT, namespacePrefix);
-                lines.add(consoleLine);
+                printLine(consoleLine);
                 final List<Boolean> isNextRpc = new ArrayList<>(Collections.singleton(rpcs.hasNext()));
-                resolveChildNodes(lines, isNextRpc, node.getOutput(), false, RpcInputOutput.OUTPUT,
+                resolveChildNodes(isNextRpc, node.getOutput(), false, RpcInputOutput.OUTPUT,
                         Collections.emptyList(), schemaIS);
                 schemaIS.exit();
                 this.treeDepth++;
             }
             schemaIS.exit();
         }
-        return lines;
     }
 
     private Map<List<QName>, Set<SchemaTree>> getAugmentationMap() {
@@ -273,7 +420,7 @@ public class Tree extends FormatPlugin {
         return augments;
     }
 
-    private void resolveChildNodes(final List<Line> lines, final List<Boolean> isConnected, final SchemaTree st,
+    private void resolveChildNodes(final List<Boolean> isConnected, final SchemaTree st,
             final boolean hasNext, final RpcInputOutput inputOutput, final List<QName> keys) {
         if (--this.treeDepth == 0) {
             return;
@@ -285,11 +432,11 @@ public class Tree extends FormatPlugin {
         }
         if (node instanceof DataNodeContainer) {
             isConnected.add(hasNext);
-            resolveDataNodeContainer(lines, isConnected, st, inputOutput, keys, actionExists);
+            resolveDataNodeContainer(isConnected, st, inputOutput, keys, actionExists);
             isConnected.remove(isConnected.size() - 1);
         } else if (node instanceof ChoiceSchemaNode) {
             isConnected.add(hasNext);
-            resolveChoiceSchemaNode(lines, isConnected, st, inputOutput, actionExists);
+            resolveChoiceSchemaNode(isConnected, st, inputOutput, actionExists);
             isConnected.remove(isConnected.size() - 1);
         }
         // If action is in container or list
@@ -297,13 +444,13 @@ public class Tree extends FormatPlugin {
             isConnected.add(hasNext);
             final Iterator<SchemaTree> actions = st.getActionDefinitionChildren().iterator();
             while (actions.hasNext()) {
-                resolveActions(lines, isConnected, hasNext, actions);
+                resolveActions(isConnected, hasNext, actions);
                 isConnected.remove(isConnected.size() - 1);
             }
         }
     }
 
-    private void resolveChildNodes(final List<Line> lines, final List<Boolean> isConnected, final SchemaNode node,
+    private void resolveChildNodes(final List<Boolean> isConnected, final SchemaNode node,
             final boolean hasNext, final RpcInputOutput inputOutput, final List<QName> keys,
             final SchemaInferenceStack schemaIS) {
         if (--this.treeDepth == 0) {
@@ -315,12 +462,12 @@ public class Tree extends FormatPlugin {
         }
         if (node instanceof DataNodeContainer) {
             isConnected.add(hasNext);
-            resolveDataNodeContainer(lines, isConnected, node, inputOutput, keys, actionExists, schemaIS);
+            resolveDataNodeContainer(isConnected, node, inputOutput, keys, actionExists, schemaIS);
             // remove last
             isConnected.remove(isConnected.size() - 1);
         } else if (node instanceof ChoiceSchemaNode) {
             isConnected.add(hasNext);
-            resolveChoiceSchemaNode(lines, isConnected, node, inputOutput, actionExists, schemaIS);
+            resolveChoiceSchemaNode(isConnected, node, inputOutput, actionExists, schemaIS);
             // remove last
             isConnected.remove(isConnected.size() - 1);
         }
@@ -331,22 +478,22 @@ public class Tree extends FormatPlugin {
                 final ActionDefinition action = actions.next();
                 isConnected.add(actions.hasNext());
                 schemaIS.enterSchemaTree(action.getQName());
-                LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, action, Collections.emptyList(),
+                LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, action, Collections.emptyList(),
                         schemaIS.toSchemaNodeIdentifier());
-                ConsoleLine consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData,
+                ConsoleLine consoleLine = new ConsoleLine(isConnected, lyvNodeData,
                         RpcInputOutput.OTHER, namespacePrefix);
-                lines.add(consoleLine);
+                printLine(consoleLine);
                 final boolean inputExists = !action.getInput().getChildNodes().isEmpty();
                 final boolean outputExists = !action.getOutput().getChildNodes().isEmpty();
                 if (inputExists) {
                     isConnected.add(outputExists);
                     schemaIS.enterSchemaTree(action.getInput().getQName());
-                    lyvNodeData = new LyvNodeData(this.schemaContext, action.getInput(), Collections.emptyList(),
+                    lyvNodeData = new LyvNodeData(this.descriptorCache, action.getInput(), Collections.emptyList(),
                             schemaIS.toSchemaNodeIdentifier());
-                    consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, RpcInputOutput.INPUT,
+                    consoleLine = new ConsoleLine(isConnected, lyvNodeData, RpcInputOutput.INPUT,
                             namespacePrefix);
-                    lines.add(consoleLine);
-                    resolveChildNodes(lines, isConnected, action.getInput(), outputExists, RpcInputOutput.INPUT,
+                    printLine(consoleLine);
+                    resolveChildNodes(isConnected, action.getInput(), outputExists, RpcInputOutput.INPUT,
                             Collections.emptyList(), schemaIS);
                     this.treeDepth++;
                     isConnected.remove(isConnected.size() - 1);
@@ -355,12 +502,12 @@ public class Tree extends FormatPlugin {
                 if (outputExists) {
                     isConnected.add(false);
                     schemaIS.enterSchemaTree(action.getOutput().getQName());
-                    lyvNodeData = new LyvNodeData(this.schemaContext, action.getOutput(), Collections.emptyList(),
+                    lyvNodeData = new LyvNodeData(this.descriptorCache, action.getOutput(), Collections.emptyList(),
                             schemaIS.toSchemaNodeIdentifier());
-                    consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData,
+                    consoleLine = new ConsoleLine(isConnected, lyvNodeData,
                             RpcInputOutput.OUTPUT, namespacePrefix);
-                    lines.add(consoleLine);
-                    resolveChildNodes(lines, isConnected, action.getOutput(), false, RpcInputOutput.OUTPUT,
+                    printLine(consoleLine);
+                    resolveChildNodes(isConnected, action.getOutput(), false, RpcInputOutput.OUTPUT,
                             Collections.emptyList(), schemaIS);
                     this.treeDepth++;
                     isConnected.remove(isConnected.size() - 1);
@@ -371,22 +518,22 @@ public class Tree extends FormatPlugin {
         }
     }
 
-    private void resolveActions(final List<Line> lines, final List<Boolean> isConnected, final boolean hasNext,
+    private void resolveActions(final List<Boolean> isConnected, final boolean hasNext,
             final Iterator<SchemaTree> actions) {
         final SchemaTree nextST = actions.next();
         if (nextST.getQname().getModule().equals(usedModule.getQNameModule())) {
-            resolveActions(lines, isConnected, hasNext, actions, nextST);
+            resolveActions(isConnected, hasNext, actions, nextST);
         }
     }
 
-    private void resolveActions(final List<Line> lines, final List<Boolean> isConnected, final boolean hasNext,
+    private void resolveActions(final List<Boolean> isConnected, final boolean hasNext,
             final Iterator<SchemaTree> actions, final SchemaTree actionSchemaTree) {
         final ActionDefinition action = actionSchemaTree.getActionNode();
-        LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, action, Collections.emptyList(),
+        LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, action, Collections.emptyList(),
                 actionSchemaTree.getAbsolutePath());
-        ConsoleLine consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, RpcInputOutput.OTHER,
+        ConsoleLine consoleLine = new ConsoleLine(isConnected, lyvNodeData, RpcInputOutput.OTHER,
                 namespacePrefix);
-        lines.add(consoleLine);
+        printLine(consoleLine);
         boolean inputExists = false;
         boolean outputExists = false;
         SchemaTree inValue = null;
@@ -402,62 +549,62 @@ public class Tree extends FormatPlugin {
         }
         if (inputExists) {
             isConnected.add(actions.hasNext() || hasNext);
-            lyvNodeData = new LyvNodeData(this.schemaContext, action.getInput(), Collections.emptyList(),
+            lyvNodeData = new LyvNodeData(this.descriptorCache, action.getInput(), Collections.emptyList(),
                     inValue.getAbsolutePath());
-            consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, RpcInputOutput.INPUT,
+            consoleLine = new ConsoleLine(isConnected, lyvNodeData, RpcInputOutput.INPUT,
                     namespacePrefix);
-            lines.add(consoleLine);
-            resolveChildNodes(lines, isConnected, inValue, outputExists, RpcInputOutput.INPUT,
+            printLine(consoleLine);
+            resolveChildNodes(isConnected, inValue, outputExists, RpcInputOutput.INPUT,
                     Collections.emptyList());
             this.treeDepth++;
             isConnected.remove(isConnected.size() - 1);
         }
         if (outputExists) {
             isConnected.add(actions.hasNext() || hasNext);
-            lyvNodeData = new LyvNodeData(this.schemaContext, action.getOutput(), Collections.emptyList(),
+            lyvNodeData = new LyvNodeData(this.descriptorCache, action.getOutput(), Collections.emptyList(),
                     outValue.getAbsolutePath());
-            consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, RpcInputOutput.OUTPUT,
+            consoleLine = new ConsoleLine(isConnected, lyvNodeData, RpcInputOutput.OUTPUT,
                     namespacePrefix);
-            lines.add(consoleLine);
-            resolveChildNodes(lines, isConnected, outValue, false, RpcInputOutput.OUTPUT,
+            printLine(consoleLine);
+            resolveChildNodes(isConnected, outValue, false, RpcInputOutput.OUTPUT,
                     Collections.emptyList());
             this.treeDepth++;
             isConnected.remove(isConnected.size() - 1);
         }
     }
 
-    private void resolveChoiceSchemaNode(final List<Line> lines, final List<Boolean> isConnected, final SchemaTree st,
+    private void resolveChoiceSchemaNode(final List<Boolean> isConnected, final SchemaTree st,
             final RpcInputOutput inputOutput, final boolean actionExists) {
         final Iterator<SchemaTree> caseNodes = st.getDataSchemaNodeChildren().iterator();
         while (caseNodes.hasNext()) {
             final SchemaTree nextST = caseNodes.next();
             if (nextST.getQname().getModule().equals(usedModule.getQNameModule())) {
                 final DataSchemaNode child = nextST.getSchemaNode();
-                final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, child, Collections.emptyList(),
+                final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, child, Collections.emptyList(),
                         nextST.getAbsolutePath());
-                final ConsoleLine consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, inputOutput,
+                final ConsoleLine consoleLine = new ConsoleLine(isConnected, lyvNodeData, inputOutput,
                         namespacePrefix);
-                lines.add(consoleLine);
-                resolveChildNodes(lines, isConnected, nextST, caseNodes.hasNext()
+                printLine(consoleLine);
+                resolveChildNodes(isConnected, nextST, caseNodes.hasNext()
                         || actionExists, inputOutput, Collections.emptyList());
                 this.treeDepth++;
             }
         }
     }
 
-    private void resolveChoiceSchemaNode(final List<Line> lines, final List<Boolean> isConnected, final SchemaNode node,
+    private void resolveChoiceSchemaNode(final List<Boolean> isConnected, final SchemaNode node,
             final RpcInputOutput inputOutput, final boolean actionExists, final SchemaInferenceStack schemaIS) {
         final Collection<? extends CaseSchemaNode> cases = ((ChoiceSchemaNode) node).getCases();
         final Iterator<? extends CaseSchemaNode> iterator = cases.iterator();
         while (iterator.hasNext()) {
             final DataSchemaNode child = iterator.next();
             schemaIS.enterSchemaTree(child.getQName());
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, child, Collections.emptyList(),
+            final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, child, Collections.emptyList(),
                     schemaIS.toSchemaNodeIdentifier());
-            final ConsoleLine consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, inputOutput,
+            final ConsoleLine consoleLine = new ConsoleLine(isConnected, lyvNodeData, inputOutput,
                     namespacePrefix);
-            lines.add(consoleLine);
-            resolveChildNodes(lines, isConnected, child, iterator.hasNext() || actionExists, inputOutput,
+            printLine(consoleLine);
+            resolveChildNodes(isConnected, child, iterator.hasNext() || actionExists, inputOutput,
                     Collections.emptyList(), schemaIS);
             schemaIS.exit();
             this.treeDepth++;
@@ -465,7 +612,7 @@ public class Tree extends FormatPlugin {
     }
 
 
-    private void resolveDataNodeContainer(final List<Line> lines, final List<Boolean> isConnected, final SchemaTree st,
+    private void resolveDataNodeContainer(final List<Boolean> isConnected, final SchemaTree st,
             final RpcInputOutput inputOutput, final List<QName> keys,
             final boolean actionExists) {
         final Iterator<SchemaTree> childNodes = st.getDataSchemaNodeChildren().iterator();
@@ -473,39 +620,39 @@ public class Tree extends FormatPlugin {
             final SchemaTree nextST = childNodes.next();
             if (nextST.getQname().getModule().equals(usedModule.getQNameModule())) {
                 final DataSchemaNode child = nextST.getSchemaNode();
-                final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, child, keys,
+                final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, child, keys,
                         nextST.getAbsolutePath());
-                final ConsoleLine consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, inputOutput,
+                final ConsoleLine consoleLine = new ConsoleLine(isConnected, lyvNodeData, inputOutput,
                         namespacePrefix);
-                lines.add(consoleLine);
+                printLine(consoleLine);
                 List<QName> keyDefinitions = Collections.emptyList();
                 if (child instanceof ListSchemaNode) {
                     keyDefinitions = ((ListSchemaNode) child).getKeyDefinition();
                 }
-                resolveChildNodes(lines, isConnected, nextST, childNodes.hasNext()
+                resolveChildNodes(isConnected, nextST, childNodes.hasNext()
                         || actionExists, inputOutput, keyDefinitions);
                 this.treeDepth++;
             }
         }
     }
 
-    private void resolveDataNodeContainer(final List<Line> lines, final List<Boolean> isConnected,
+    private void resolveDataNodeContainer(final List<Boolean> isConnected,
             final SchemaNode node, final RpcInputOutput inputOutput, final List<QName> keys,
             final boolean actionExists, final SchemaInferenceStack schemaIS) {
         final Iterator<? extends DataSchemaNode> childNodes = ((DataNodeContainer) node).getChildNodes().iterator();
         while (childNodes.hasNext()) {
             final DataSchemaNode child = childNodes.next();
             schemaIS.enterSchemaTree(child.getQName());
-            final LyvNodeData lyvNodeData = new LyvNodeData(this.schemaContext, child, keys,
+            final LyvNodeData lyvNodeData = new LyvNodeData(this.descriptorCache, child, keys,
                     schemaIS.toSchemaNodeIdentifier());
-            final ConsoleLine consoleLine = new ConsoleLine(new ArrayList<>(isConnected), lyvNodeData, inputOutput,
+            final ConsoleLine consoleLine = new ConsoleLine(isConnected, lyvNodeData, inputOutput,
                     namespacePrefix);
-            lines.add(consoleLine);
+            printLine(consoleLine);
             List<QName> keyDefinitions = Collections.emptyList();
             if (child instanceof ListSchemaNode) {
                 keyDefinitions = ((ListSchemaNode) child).getKeyDefinition();
             }
-            resolveChildNodes(lines, isConnected, child, childNodes.hasNext() || actionExists, inputOutput,
+            resolveChildNodes(isConnected, child, childNodes.hasNext() || actionExists, inputOutput,
                     keyDefinitions, schemaIS);
             schemaIS.exit();
             this.treeDepth++;
@@ -514,11 +661,11 @@ public class Tree extends FormatPlugin {
 
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
-    private void printLines(final List<Line> lines) {
-        for (final Line l : lines) {
-            final String linesText = l.toString();
-            LOG.info("{}", linesText.substring(0, min(linesText.length(), lineLength)));
-        }
+    private void printLine(final ConsoleLine line) {
+        lineBuilder.setLength(0);
+        line.appendTo(lineBuilder);
+        lineBuilder.setLength(min(lineBuilder.length(), lineLength));
+        LOG.info("{}", lineBuilder.toString());
     }
 
     private void printHelp() {
@@ -583,6 +730,11 @@ public class Tree extends FormatPlugin {
         groupArguments.addOption("Use prefix with used module.",
                 Collections.singletonList("--tree-prefix-main-module"), true, null, null,
                 new CollectionArgumentChoice<>(Collections.emptyList()), Boolean.TYPE);
+        groupArguments.addOption("Print only subtrees of the data nodes on given paths, together with"
+                        + " augmentations of these subtrees. Path is in the form /prefix:name/name, where prefix is"
+                        + " a prefix or a name of the module and can be omitted for nodes from the same module as"
+                        + " their parent.",
+                Collections.singletonList("--tree-path"), false, "*", Collections.emptyList(), null, String.class);
         return Optional.of(groupArguments);
     }
 }
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.api.ModuleLike;
+
+/**
+ * Import and include graph of the modules of one {@link EffectiveModelContext}. Imports are resolved only once,
+ * through an index of the context modules by name, and transitive dependencies of a module are computed only once
+ * and shared by all modules depending on it. Graph is built once per run of the validator and passed to all its
+ * users, so it is released together with the context.
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public final class DependencyGraph {
+
+    private final Map<String, List<Node>> modulesByName = new HashMap<>();
+    private final Map<String, Node> nodes = new TreeMap<>();
+    private final List<Map<Node, Set<Node>>> closures = new ArrayList<>();
+
+    public DependencyGraph(final EffectiveModelContext context) {
+        final Deque<Map.Entry<Node, ModuleLike>> pending = new ArrayDeque<>();
+        for (final Module module : context.getModules()) {
+            final Node node = new Node(module, false);
+            modulesByName.computeIfAbsent(module.getName(), name -> new ArrayList<>(1)).add(node);
+            nodes.put(node.getId(), node);
+            pending.add(Map.entry(node, module));
+        }
+        while (!pending.isEmpty()) {
+            final Map.Entry<Node, ModuleLike> entry = pending.poll();
+            final Node node = entry.getKey();
+            final ModuleLike module = entry.getValue();
+            for (final ModuleImport moduleImport : module.getImports()) {
+                findImported(moduleImport).ifPresent(node.imports::add);
+            }
+            for (final ModuleLike submodule : module.getSubmodules()) {
+                final Node included = new Node(submodule, true);
+                final Node known = nodes.putIfAbsent(included.getId(), included);
+                if (known == null) {
+                    pending.add(Map.entry(included, submodule));
+                    node.includes.add(included);
+                } else {
+                    node.includes.add(known);
+                }
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            closures.add(new HashMap<>());
+        }
+    }
+
+    private Optional<Node> findImported(final ModuleImport moduleImport) {
+        final Revision revision = moduleImport.getRevision().orElse(null);
+        for (final Node candidate : modulesByName.getOrDefault(moduleImport.getModuleName(),
+                Collections.emptyList())) {
+            if (revision == null || candidate.revision == null || revision.equals(candidate.revision)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find module or submodule of the context.
+     *
+     * @param name     name of the module
+     * @param revision revision of the module
+     * @return node of the module or empty if the context does not contain it
+     */
+    public Optional<Node> findNode(final String name, final Optional<Revision> revision) {
+        return Optional.ofNullable(nodes.get(Node.createId(name, revision.orElse(null))));
+    }
+
+    /**
+     * All modules and submodules of the context ordered by their name and revision.
+     *
+     * @return nodes of the graph
+     */
+    public Collection<Node> getNodes() {
+        return Collections.unmodifiableCollection(nodes.values());
+    }
+
+    /**
+     * Find dependencies of given module. Modules listed as excluded are not part of the result and their own
+     * dependencies are not followed.
+     *
+     * @param node      module or submodule to start with
+     * @param imports   follow imports
+     * @param includes  follow includes
+     * @param recursive follow dependencies of the dependencies
+     * @param excluded  names of excluded modules, submodules may be also excluded by their name with revision
+     * @return dependencies in the order they were found
+     */
+    public Set<Node> getDependencies(final Node node, final boolean imports, final boolean includes,
+            final boolean recursive, final Set<String> excluded) {
+        if (recursive && excluded.isEmpty()) {
+            return getClosure(node, imports, includes);
+        }
+        final Set<Node> found = new LinkedHashSet<>();
+        final Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.push(node);
+        while (!toVisit.isEmpty()) {
+            for (final Node dependency : toVisit.pop().getDependencies(imports, includes)) {
+                if (!dependency.isExcluded(excluded) && found.add(dependency) && recursive) {
+                    toVisit.push(dependency);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find all transitive dependencies of given module. The result is computed once for each module and kind of
+     * dependencies.
+     *
+     * @param node     module or submodule to start with
+     * @param imports  follow imports
+     * @param includes follow includes
+     * @return unmodifiable transitive dependencies
+     */
+    public synchronized Set<Node> getClosure(final Node node, final boolean imports, final boolean includes) {
+        final Map<Node, Set<Node>> known = closures.get((imports ? 1 : 0) | (includes ? 2 : 0));
+        final Set<Node> cached = known.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        // guards against cycles, which are not valid yang
+        known.put(node, Collections.emptySet());
+        final Set<Node> closure = new LinkedHashSet<>();
+        for (final Node dependency : node.getDependencies(imports, includes)) {
+            closure.add(dependency);
+            closure.addAll(getClosure(dependency, imports, includes));
+        }
+        final Set<Node> result = Collections.unmodifiableSet(closure);
+        known.put(node, result);
+        return result;
+    }
+
+    /**
+     * Write the whole graph in the dot language of graphviz. Imports are solid edges and includes are dashed edges.
+     *
+     * @param output consumer of the written lines
+     */
+    public void writeDot(final Consumer<String> output) {
+        output.accept("digraph dependencies {");
+        for (final Node node : nodes.values()) {
+            output.accept("    " + quote(node.getId()) + (node.isSubmodule() ? " [shape=box];" : ";"));
+            for (final Node imported : node.imports) {
+                output.accept("    " + quote(node.getId()) + " -> " + quote(imported.getId()) + ";");
+            }
+            for (final Node included : node.includes) {
+                output.accept("    " + quote(node.getId()) + " -> " + quote(included.getId())
+                        + " [style=dashed];");
+            }
+        }
+        output.accept("}");
+    }
+
+    private static String quote(final String id) {
+        return '"' + id.replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * Write the whole graph as json object with the list of the modules and their direct dependencies.
+     *
+     * @param writer json writer
+     */
+    public void writeJson(final JsonWriter writer) {
+        writer.beginObject().name("modules").beginArray();
+        for (final Node node : nodes.values()) {
+            writer.beginObject()
+                    .name("id").value(node.getId())
+                    .name("name").value(node.getName())
+                    .name("submodule").value(node.isSubmodule());
+            if (node.revision != null) {
+                writer.name("revision").value(node.revision.toString());
+            }
+            writer.name("imports").beginArray();
+            node.imports.forEach(imported -> writer.value(imported.getId()));
+            writer.endArray().name("includes").beginArray();
+            node.includes.forEach(included -> writer.value(included.getId()));
+            writer.endArray().endObject();
+        }
+        writer.endArray().endObject();
+    }
+
+    /**
+     * Module or submodule of the graph.
+     */
+    public static final class Node {
+
+        private final String name;
+        private final Revision revision;
+        private final String id;
+        private final boolean submodule;
+        private final List<Node> imports = new ArrayList<>();
+        private final List<Node> includes = new ArrayList<>();
+
+        Node(final ModuleLike module, final boolean submodule) {
+            this.name = module.getName();
+            this.revision = module.getRevision().orElse(null);
+            this.id = createId(name, revision);
+            this.submodule = submodule;
+        }
+
+        private static String createId(final String name, final Revision revision) {
+            return revision == null ? name : name + "@" + revision;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Optional<Revision> getRevision() {
+            return Optional.ofNullable(revision);
+        }
+
+        /**
+         * Identifier of the module in the form of name@revision, or just name if the module has no revision.
+         *
+         * @return identifier of the module
+         */
+        public String getId() {
+            return id;
+        }
+
+        public boolean isSubmodule() {
+            return submodule;
+        }
+
+        public List<Node> getImports() {
+            return Collections.unmodifiableList(imports);
+        }
+
+        public List<Node> getIncludes() {
+            return Collections.unmodifiableList(includes);
+        }
+
+        private List<Node> getDependencies(final boolean withImports, final boolean withIncludes) {
+            if (withImports && withIncludes) {
+                final List<Node> dependencies = new ArrayList<>(imports.size() + includes.size());
+                dependencies.addAll(includes);
+                dependencies.addAll(imports);
+                return dependencies;
+            }
+            if (withImports) {
+                return imports;
+            }
+            return withIncludes ? includes : Collections.emptyList();
+        }
+
+        private boolean isExcluded(final Set<String> excluded) {
+            return excluded.contains(name) || (submodule && excluded.contains(id));
+        }
+
+        @Override
+        public String toString() {
+            return id;
+        }
+    }
+}
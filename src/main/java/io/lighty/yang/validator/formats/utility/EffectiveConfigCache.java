@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier;
+
+/**
+ * Cache of effective config of the schema tree paths of one {@link EffectiveModelContext}. Path is resolved one node
+ * after another and the state after each node is kept, so every prefix of every path is resolved only once and it is
+ * shared by all paths starting with it, like targets of augmentations of the same subtree. Cache is owned by its user,
+ * so it is released together with it.
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public final class EffectiveConfigCache {
+
+    private static final String OUTPUT = "output";
+
+    private final Map<List<QName>, PathState> states = new ConcurrentHashMap<>();
+    private final PathState rootState;
+
+    public EffectiveConfigCache(final EffectiveModelContext context) {
+        this.rootState = new PathState(null, context, ImmutableSet.of(), false);
+    }
+
+    /**
+     * Check whether nodes placed on given schema tree path are configuration nodes. Path is not configuration if any
+     * of the data nodes on the path is not configuration or if it leads to the output of an action.
+     *
+     * @param path schema tree path, for example target of an augmentation
+     * @return false if the nodes on given path are not configuration nodes
+     */
+    public boolean isConfig(final SchemaNodeIdentifier path) {
+        final List<QName> qnames = path.getNodeIdentifiers();
+        int known = qnames.size();
+        PathState state = null;
+        while (known > 0 && state == null) {
+            state = states.get(qnames.subList(0, known));
+            if (state == null) {
+                known--;
+            }
+        }
+        if (state == null) {
+            state = rootState;
+        }
+        for (int i = known; i < qnames.size(); i++) {
+            state = state.next(qnames.get(i));
+            states.putIfAbsent(ImmutableList.copyOf(qnames.subList(0, i + 1)), state);
+        }
+        return state.config == null || state.config;
+    }
+
+    /**
+     * State of the path after resolving some of its nodes.
+     */
+    private static final class PathState {
+
+        private final Boolean config;
+        private final DataNodeContainer lastDataNode;
+        private final Set<String> actionNames;
+        private final boolean inAction;
+
+        PathState(final Boolean config, final DataNodeContainer lastDataNode, final Set<String> actionNames,
+                final boolean inAction) {
+            this.config = config;
+            this.lastDataNode = lastDataNode;
+            this.actionNames = actionNames;
+            this.inAction = inAction;
+        }
+
+        PathState next(final QName qname) {
+            if (config != null) {
+                return this;
+            }
+            if (inAction) {
+                return new PathState(!OUTPUT.equals(qname.getLocalName()), lastDataNode, actionNames, true);
+            }
+            if (actionNames.contains(qname.getLocalName())) {
+                return new PathState(null, lastDataNode, actionNames, true);
+            }
+            // nodes which are not in the data tree, like choices and cases, are skipped
+            final Optional<DataSchemaNode> child = lastDataNode == null ? Optional.empty()
+                    : lastDataNode.findDataTreeChild(qname);
+            if (child.isEmpty()) {
+                return this;
+            }
+            final DataSchemaNode node = child.get();
+            final Optional<Boolean> effectiveConfig = node.effectiveConfig();
+            final Boolean newConfig = effectiveConfig.isPresent() && !effectiveConfig.get() ? Boolean.FALSE : null;
+            Set<String> newActionNames = actionNames;
+            if (node instanceof ActionNodeContainer) {
+                final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+                for (final ActionDefinition action : ((ActionNodeContainer) node).getActions()) {
+                    builder.add(action.getQName().getLocalName());
+                }
+                newActionNames = builder.build();
+            }
+            return new PathState(newConfig, node instanceof DataNodeContainer ? (DataNodeContainer) node : null,
+                    newActionNames, false);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Deviation;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.Submodule;
+import org.opendaylight.yangtools.yang.model.api.UsesNode;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+
+/**
+ * Registry of the grouping expansions, which are printed only once and referenced from all the places they are used.
+ *
+ * <p>
+ * Nodes added by a {@code uses} are recognized by their declared statement, which is shared with the nodes of the
+ * grouping. Expansions are the same if they come from the same grouping, are placed in the same namespace and have the
+ * same config. Expansion is printed in place, if it may differ from other expansions of the grouping, which is the
+ * case when the {@code uses} has refines, augmentations or a when condition, or when some augmentation or deviation
+ * targets a node inside the expansion.
+ */
+public final class GroupingDefinitions {
+
+    private final EffectiveModelContext context;
+    private final Set<List<QName>> modifiedPaths = new HashSet<>();
+    private final Map<List<Object>, String> definitionIds = new HashMap<>();
+    private final Map<String, Integer> nameCounts = new HashMap<>();
+    private final Deque<Definition> pending = new ArrayDeque<>();
+
+    public GroupingDefinitions(final EffectiveModelContext context) {
+        this.context = context;
+        for (final Module module : context.getModules()) {
+            addModifiedPaths(module.getAugmentations(), module.getDeviations());
+            for (final Submodule submodule : module.getSubmodules()) {
+                addModifiedPaths(submodule.getAugmentations(), submodule.getDeviations());
+            }
+        }
+    }
+
+    private void addModifiedPaths(final Iterable<? extends AugmentationSchemaNode> augmentations,
+            final Iterable<? extends Deviation> deviations) {
+        for (final AugmentationSchemaNode augmentation : augmentations) {
+            addModifiedPath(augmentation.getTargetPath().getNodeIdentifiers());
+        }
+        for (final Deviation deviation : deviations) {
+            addModifiedPath(deviation.getTargetPath().getNodeIdentifiers());
+        }
+    }
+
+    private void addModifiedPath(final List<QName> path) {
+        for (int i = 1; i <= path.size(); i++) {
+            modifiedPaths.add(ImmutableList.copyOf(path.subList(0, i)));
+        }
+    }
+
+    /**
+     * Find expansions of the groupings used by given node, which can be referenced instead of being printed in place.
+     *
+     * @param node     data node with uses statements
+     * @param isConfig config enforced by the parent of the node
+     * @param path     schema tree path of the node
+     * @return referenced expansions and the child nodes which have to be printed in place
+     */
+    public Expansions resolve(final DataSchemaNode node, final Optional<Boolean> isConfig, final Absolute path) {
+        final DataNodeContainer container = (DataNodeContainer) node;
+        final List<QName> nodePath = path.getNodeIdentifiers();
+        if (container.getUses().isEmpty() || modifiedPaths.contains(nodePath)) {
+            return new Expansions(Collections.emptyList(), container.getChildNodes());
+        }
+        final List<String> ids = new ArrayList<>();
+        final Set<DataSchemaNode> referenced = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final UsesNode uses : container.getUses()) {
+            if (!uses.getRefines().isEmpty() || !uses.getAugmentations().isEmpty()) {
+                uses.getRefines().keySet().forEach(refine -> addModifiedPath(ImmutableList.<QName>builder()
+                        .addAll(nodePath).addAll(refine.getNodeIdentifiers()).build()));
+                uses.getAugmentations().forEach(augment -> addModifiedPath(ImmutableList.<QName>builder()
+                        .addAll(nodePath).addAll(augment.getTargetPath().getNodeIdentifiers()).build()));
+                continue;
+            }
+            if (uses.getWhenCondition().isPresent()) {
+                continue;
+            }
+            final GroupingDefinition grouping = uses.getSourceGrouping();
+            final List<DataSchemaNode> children = findExpansion(container, grouping);
+            if (children.isEmpty()) {
+                continue;
+            }
+            final List<Object> key = ImmutableList.of(grouping.getQName(), children.get(0).getQName().getModule(),
+                    isConfig, node.isConfiguration());
+            String id = definitionIds.get(key);
+            if (id == null) {
+                id = createId(grouping);
+                definitionIds.put(key, id);
+                pending.add(new Definition(id, grouping, path, isConfig, children));
+            }
+            ids.add(id);
+            referenced.addAll(children);
+        }
+        final List<DataSchemaNode> inPlace = new ArrayList<>();
+        for (final DataSchemaNode child : container.getChildNodes()) {
+            if (!referenced.contains(child)) {
+                inPlace.add(child);
+            }
+        }
+        return new Expansions(ids, inPlace);
+    }
+
+    private static List<DataSchemaNode> findExpansion(final DataNodeContainer container,
+            final GroupingDefinition grouping) {
+        final Set<DeclaredStatement<?>> declared = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final DataSchemaNode groupingChild : grouping.getChildNodes()) {
+            final DeclaredStatement<?> childDeclared = getDeclared(groupingChild);
+            if (childDeclared == null) {
+                return Collections.emptyList();
+            }
+            declared.add(childDeclared);
+        }
+        final List<DataSchemaNode> children = new ArrayList<>();
+        for (final DataSchemaNode child : container.getChildNodes()) {
+            if (child.isAddedByUses() && declared.contains(getDeclared(child))) {
+                children.add(child);
+            }
+        }
+        return children.size() == declared.size() ? children : Collections.emptyList();
+    }
+
+    private static DeclaredStatement<?> getDeclared(final DataSchemaNode node) {
+        if (node instanceof EffectiveStatement) {
+            return ((EffectiveStatement<?, ?>) node).getDeclared();
+        }
+        return null;
+    }
+
+    private String createId(final GroupingDefinition grouping) {
+        final QName qname = grouping.getQName();
+        final String name = context.findModule(qname.getModule()).map(Module::getPrefix)
+                .orElse(qname.getModule().toString()) + ":" + qname.getLocalName();
+        final int count = nameCounts.merge(name, 1, Integer::sum);
+        return count == 1 ? name : name + "-" + count;
+    }
+
+    /**
+     * Take the next expansion, which was referenced but not printed yet.
+     *
+     * @return expansion to print or null if all referenced expansions were taken
+     */
+    public Definition poll() {
+        return pending.poll();
+    }
+
+    /**
+     * Expansions referenced by a node together with the child nodes, which are not part of any of them.
+     */
+    public static final class Expansions {
+
+        private final List<String> ids;
+        private final List<? extends DataSchemaNode> inPlaceChildren;
+
+        Expansions(final List<String> ids, final Collection<? extends DataSchemaNode> inPlaceChildren) {
+            this.ids = ids;
+            this.inPlaceChildren = ImmutableList.copyOf(inPlaceChildren);
+        }
+
+        public List<String> getIds() {
+            return ids;
+        }
+
+        public List<? extends DataSchemaNode> getInPlaceChildren() {
+            return inPlaceChildren;
+        }
+    }
+
+    /**
+     * Expansion of a grouping to print, taken from its first use.
+     */
+    public static final class Definition {
+
+        private final String id;
+        private final GroupingDefinition grouping;
+        private final Absolute parentPath;
+        private final Optional<Boolean> isConfig;
+        private final List<DataSchemaNode> children;
+
+        Definition(final String id, final GroupingDefinition grouping, final Absolute parentPath,
+                final Optional<Boolean> isConfig, final List<DataSchemaNode> children) {
+            this.id = id;
+            this.grouping = grouping;
+            this.parentPath = parentPath;
+            this.isConfig = isConfig;
+            this.children = children;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public GroupingDefinition getGrouping() {
+            return grouping;
+        }
+
+        public Absolute getParentPath() {
+            return parentPath;
+        }
+
+        public Optional<Boolean> getConfig() {
+            return isConfig;
+        }
+
+        public List<DataSchemaNode> getChildren() {
+            return children;
+        }
+    }
+}
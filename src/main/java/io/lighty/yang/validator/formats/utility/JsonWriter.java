@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+import org.json.JSONObject;
+
+/**
+ * Streaming JSON generator. Values are written as they come and the text is handed over to the output line by line,
+ * so the whole document is never kept in memory.
+ *
+ * <p>
+ * In {@link Style#PRETTY} style every element is on its own indented line. In {@link Style#COMPACT} style there is
+ * no whitespace, but the text is split to lines of about {@value #COMPACT_LINE_LENGTH} characters between elements,
+ * which keeps the document valid JSON. In {@link Style#LINES} style there is no whitespace and every top level value
+ * is on exactly one line.
+ */
+public final class JsonWriter {
+
+    public enum Style {
+        PRETTY,
+        COMPACT,
+        LINES
+    }
+
+    private static final int INDENT = 4;
+    private static final int COMPACT_LINE_LENGTH = 65536;
+
+    private final Consumer<String> output;
+    private final Style style;
+    private final StringBuilder line = new StringBuilder();
+    private final Deque<Boolean> hasElements = new ArrayDeque<>();
+    private boolean afterName;
+
+    /**
+     * Create new writer.
+     *
+     * @param output consumer of the written lines
+     * @param style  style of the written text
+     */
+    public JsonWriter(final Consumer<String> output, final Style style) {
+        this.output = output;
+        this.style = style;
+    }
+
+    public JsonWriter beginObject() {
+        beforeValue();
+        line.append('{');
+        hasElements.push(false);
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        return close('}');
+    }
+
+    public JsonWriter beginArray() {
+        beforeValue();
+        line.append('[');
+        hasElements.push(false);
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        return close(']');
+    }
+
+    /**
+     * Write name of the next member of the current object.
+     *
+     * @param name name of the member
+     * @return this writer
+     */
+    public JsonWriter name(final String name) {
+        beforeElement();
+        line.append(JSONObject.quote(name)).append(style == Style.PRETTY ? ": " : ":");
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(final String value) {
+        beforeValue();
+        line.append(JSONObject.quote(value));
+        return endValue();
+    }
+
+    public JsonWriter value(final boolean value) {
+        beforeValue();
+        line.append(value);
+        return endValue();
+    }
+
+    public JsonWriter value(final Number value) {
+        beforeValue();
+        line.append(JSONObject.numberToString(value));
+        return endValue();
+    }
+
+    /**
+     * Write empty object, which is printed as {@code {}} in all styles.
+     *
+     * @return this writer
+     */
+    public JsonWriter emptyObject() {
+        return beginObject().endObject();
+    }
+
+    /**
+     * Write empty array, which is printed as {@code []} in all styles.
+     *
+     * @return this writer
+     */
+    public JsonWriter emptyArray() {
+        return beginArray().endArray();
+    }
+
+    private JsonWriter close(final char bracket) {
+        if (hasElements.pop()) {
+            newLine();
+        }
+        line.append(bracket);
+        return endValue();
+    }
+
+    private JsonWriter endValue() {
+        if (hasElements.isEmpty()) {
+            flushLine();
+        }
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+        } else {
+            beforeElement();
+        }
+    }
+
+    private void beforeElement() {
+        if (hasElements.isEmpty()) {
+            return;
+        }
+        if (hasElements.peek()) {
+            line.append(',');
+        } else {
+            hasElements.pop();
+            hasElements.push(true);
+        }
+        newLine();
+    }
+
+    private void newLine() {
+        if (style == Style.PRETTY) {
+            flushLine();
+            for (int i = 0; i < hasElements.size() * INDENT; i++) {
+                line.append(' ');
+            }
+        } else if (style == Style.COMPACT && line.length() >= COMPACT_LINE_LENGTH) {
+            flushLine();
+        }
+    }
+
+    private void flushLine() {
+        if (line.length() > 0) {
+            output.accept(line.toString());
+            line.setLength(0);
+        }
+    }
+}
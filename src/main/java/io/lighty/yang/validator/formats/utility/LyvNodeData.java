@@ -11,26 +11,19 @@ import java.util.List;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
-import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
-import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.ContainerLike;
-import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
-import org.opendaylight.yangtools.yang.model.api.MandatoryAware;
-import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
-import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
 
 public class LyvNodeData {
 
     private final boolean isKey;
-    private final EffectiveModelContext context;
+    private final SchemaNodeDescriptorCache descriptorCache;
     private final SchemaNode node;
     private final Absolute absolutePath;
 
-    public LyvNodeData(@NonNull final EffectiveModelContext context, @NonNull final SchemaNode node,
+    public LyvNodeData(@NonNull final SchemaNodeDescriptorCache descriptorCache, @NonNull final SchemaNode node,
             @Nullable final List<QName> keys, final Absolute absolutePath) {
-        this.context = context;
+        this.descriptorCache = descriptorCache;
         this.absolutePath = absolutePath;
         this.node = node;
         if (keys == null || keys.isEmpty()) {
@@ -40,10 +33,6 @@ public class LyvNodeData {
         }
     }
 
-    public EffectiveModelContext getContext() {
-        return this.context;
-    }
-
     public SchemaNode getNode() {
         return this.node;
     }
@@ -52,10 +41,15 @@ public class LyvNodeData {
         return absolutePath;
     }
 
+    public SchemaNodeDescriptor getDescriptor() {
+        return this.descriptorCache.getDescriptor(this.node);
+    }
+
+    public boolean isInNotification() {
+        return this.descriptorCache.isInNotification(this.absolutePath);
+    }
+
     public boolean isNodeMandatory() {
-        return (this.node instanceof MandatoryAware && ((MandatoryAware) this.node).isMandatory())
-                || this.node instanceof ContainerLike || this.node instanceof CaseSchemaNode
-                || this.node instanceof NotificationDefinition || this.node instanceof ActionDefinition
-                || this.node instanceof RpcDefinition || this.isKey;
+        return getDescriptor().isMandatory() || this.isKey;
     }
 }
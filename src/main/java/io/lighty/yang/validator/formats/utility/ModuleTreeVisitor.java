@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import java.util.Collection;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerLike;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+
+/**
+ * Visitor of the schema tree of one module with all groupings expanded. Only nodes defined by the module are visited,
+ * including nodes it adds to other modules by augmentations. Notifications and declared inputs and outputs of
+ * operations are visited like containers, operations themselves are not visited but add a level of depth. Inputs and
+ * outputs, which are not declared, are not visited themselves, so an operation without them visits no nodes, but their
+ * children are visited at the same depth as children of declared ones.
+ *
+ * <p>
+ * Top level nodes have depth 1 and nodes added to other modules have depth of the target of their augmentation plus
+ * one.
+ */
+public abstract class ModuleTreeVisitor {
+
+    private final Module module;
+    private final QNameModule qnameModule;
+
+    protected ModuleTreeVisitor(final Module module) {
+        this.module = module;
+        this.qnameModule = module.getQNameModule();
+    }
+
+    /**
+     * Called for every visited node before its children are visited.
+     *
+     * @param node data schema node or notification
+     * @param depth depth of the node in the schema tree
+     */
+    protected abstract void enterNode(SchemaNode node, int depth);
+
+    /**
+     * Called for every visited node after its children were visited.
+     *
+     * @param node data schema node or notification
+     */
+    protected void exitNode(final SchemaNode node) {
+        // nothing to do by default
+    }
+
+    /**
+     * Called after children of one node were visited.
+     *
+     * @param count number of the visited children, which are defined by the module
+     */
+    protected void exitChildren(final int count) {
+        // nothing to do by default
+    }
+
+    /**
+     * Visit the whole tree of the module.
+     */
+    protected final void visitModule() {
+        visitChildren(module.getChildNodes(), 1);
+        for (final AugmentationSchemaNode augmentation : module.getAugmentations()) {
+            // augmentations of the module itself are already part of its tree
+            if (!qnameModule.equals(augmentation.getTargetPath().firstNodeIdentifier().getModule())) {
+                visitChildren(augmentation.getChildNodes(),
+                        augmentation.getTargetPath().getNodeIdentifiers().size() + 1);
+            }
+        }
+        for (final RpcDefinition rpc : module.getRpcs()) {
+            visitOperation(rpc, 1);
+        }
+        for (final NotificationDefinition notification : module.getNotifications()) {
+            visitNotification(notification, 1);
+        }
+    }
+
+    /**
+     * Visit children defined by the module, children added by augmentations of other modules are skipped.
+     */
+    private void visitChildren(final Collection<? extends DataSchemaNode> children, final int depth) {
+        int count = 0;
+        for (final DataSchemaNode child : children) {
+            if (qnameModule.equals(child.getQName().getModule())) {
+                count++;
+                visitNode(child, depth);
+            }
+        }
+        exitChildren(count);
+    }
+
+    private void visitNode(final DataSchemaNode node, final int depth) {
+        enterNode(node, depth);
+        if (node instanceof ChoiceSchemaNode) {
+            visitChildren(((ChoiceSchemaNode) node).getCases(), depth + 1);
+        } else if (node instanceof DataNodeContainer) {
+            visitChildren(((DataNodeContainer) node).getChildNodes(), depth + 1);
+        }
+        if (node instanceof ActionNodeContainer) {
+            for (final ActionDefinition action : ((ActionNodeContainer) node).getActions()) {
+                visitOperation(action, depth + 1);
+            }
+        }
+        if (node instanceof NotificationNodeContainer) {
+            for (final NotificationDefinition notification : ((NotificationNodeContainer) node).getNotifications()) {
+                visitNotification(notification, depth + 1);
+            }
+        }
+        exitNode(node);
+    }
+
+    private void visitNotification(final NotificationDefinition notification, final int depth) {
+        enterNode(notification, depth);
+        visitChildren(notification.getChildNodes(), depth + 1);
+        exitNode(notification);
+    }
+
+    private void visitOperation(final OperationDefinition operation, final int depth) {
+        visitOperationContainer(operation.getInput(), depth + 1);
+        visitOperationContainer(operation.getOutput(), depth + 1);
+    }
+
+    private void visitOperationContainer(final ContainerLike container, final int depth) {
+        if (((EffectiveStatement<?, ?>) container).getDeclared() != null) {
+            visitNode(container, depth);
+        } else {
+            visitChildren(container.getChildNodes(), depth + 1);
+        }
+    }
+}
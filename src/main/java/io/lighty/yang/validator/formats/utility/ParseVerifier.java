@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.api.YangParser;
+import org.opendaylight.yangtools.yang.parser.api.YangParserException;
+import org.opendaylight.yangtools.yang.parser.api.YangParserFactory;
+import org.opendaylight.yangtools.yang.parser.impl.DefaultYangParserFactory;
+
+/**
+ * Parses generated module texts in memory, to check that the generated modules are valid without writing them to
+ * the disk and running the validator again.
+ */
+public final class ParseVerifier {
+
+    private static final YangParserFactory PARSER_FACTORY = new DefaultYangParserFactory();
+
+    private ParseVerifier() {
+        // utility class
+    }
+
+    /**
+     * Parse generated modules. Modules which are not generated, but which are imported by the generated ones, are
+     * taken from the library sources. If the generated modules can not be parsed together, each of them is parsed
+     * once more on its own with the library sources, so every module which can not be parsed is reported.
+     *
+     * @param generated         text of the generated modules
+     * @param librarySources    sources of the original modules
+     * @param supportedFeatures supported features or null if all features are supported
+     * @return empty if all generated modules were parsed, otherwise the reasons why they can not be parsed, each
+     *         naming the module file it belongs to if it is known
+     */
+    public static List<String> verify(final Map<SourceIdentifier, byte[]> generated,
+            final List<YangTextSchemaSource> librarySources, final Set<QName> supportedFeatures) {
+        final Optional<String> error = parse(generated, librarySources, supportedFeatures);
+        if (error.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (generated.size() == 1) {
+            return Collections.singletonList(describe(generated.keySet().iterator().next(), error.get()));
+        }
+        final List<String> errors = new ArrayList<>();
+        for (final Map.Entry<SourceIdentifier, byte[]> module : generated.entrySet()) {
+            parse(Collections.singletonMap(module.getKey(), module.getValue()), librarySources, supportedFeatures)
+                    .ifPresent(moduleError -> errors.add(describe(module.getKey(), moduleError)));
+        }
+        if (errors.isEmpty()) {
+            // each module is valid on its own, so the problem is between the generated modules
+            errors.add(error.get());
+        }
+        return errors;
+    }
+
+    private static Optional<String> parse(final Map<SourceIdentifier, byte[]> generated,
+            final List<YangTextSchemaSource> librarySources, final Set<QName> supportedFeatures) {
+        final YangParser parser = PARSER_FACTORY.createParser();
+        if (supportedFeatures != null && !supportedFeatures.isEmpty()) {
+            parser.setSupportedFeatures(supportedFeatures);
+        }
+        final Set<String> generatedNames = new HashSet<>();
+        try {
+            for (final Map.Entry<SourceIdentifier, byte[]> module : generated.entrySet()) {
+                generatedNames.add(module.getKey().getName());
+                parser.addSource(YangTextSchemaSource.delegateForByteSource(module.getKey(),
+                        ByteSource.wrap(module.getValue())));
+            }
+            for (final YangTextSchemaSource source : librarySources) {
+                if (!generatedNames.contains(source.getIdentifier().getName())) {
+                    parser.addLibSource(source);
+                }
+            }
+            parser.buildEffectiveModel();
+        } catch (final IOException | YangParserException e) {
+            return Optional.of(e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private static String describe(final SourceIdentifier module, final String error) {
+        return module.toYangFilename() + ": " + error;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import com.google.common.collect.ImmutableList;
+import io.lighty.yang.validator.exceptions.NotFoundException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.XMLNamespace;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerLike;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.MandatoryAware;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Status;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.AnydataEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.AnyxmlEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.IfFeatureAwareDeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.IfFeatureStatement;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.spi.meta.AbstractDeclaredEffectiveStatement;
+
+/**
+ * Rendering data of one {@link SchemaNode}, which do not depend on the place and the format the node is rendered in.
+ * Instances are created and shared by {@link SchemaNodeDescriptorCache}. All data are resolved on creation except
+ * the module qualified type name, which is needed only by json-tree and it is resolved on the first request.
+ */
+public final class SchemaNodeDescriptor {
+
+    private static final String BOOLEAN = "boolean";
+    private static final String IDENTITYREF = "identityref";
+    private static final String ANYXML = "<anyxml>";
+    private static final String ANYDATA = "<anydata>";
+    private static final XMLNamespace BASE_TYPE_NAMESPACE = XMLNamespace.of("urn:ietf:params:xml:ns:yang:1");
+
+    private final Status status;
+    private final boolean mandatory;
+    private final boolean listOrLeafList;
+    private final boolean choice;
+    private final boolean caseNode;
+    private final List<String> keys;
+    private final List<IfFeatureStatement> ifFeatures;
+    private final String typeName;
+    private final XMLNamespace typeNamespace;
+    private final String leafrefPath;
+    private final EffectiveModelContext context;
+    private final TypeDefinition<? extends TypeDefinition<?>> nodeType;
+    private volatile String qualifiedTypeName;
+
+    SchemaNodeDescriptor(final SchemaNode node, final EffectiveModelContext context) {
+        this.context = context;
+        this.status = node.getStatus();
+        this.mandatory = (node instanceof MandatoryAware && ((MandatoryAware) node).isMandatory())
+                || node instanceof ContainerLike || node instanceof CaseSchemaNode
+                || node instanceof NotificationDefinition || node instanceof ActionDefinition
+                || node instanceof RpcDefinition;
+        this.listOrLeafList = node instanceof LeafListSchemaNode || node instanceof ListSchemaNode;
+        this.choice = node instanceof ChoiceSchemaNode;
+        this.caseNode = node instanceof CaseSchemaNode;
+        this.keys = resolveKeys(node);
+        this.ifFeatures = resolveIfFeatures(node);
+
+        if (node instanceof TypedDataSchemaNode) {
+            this.nodeType = ((TypedDataSchemaNode) node).getType();
+            TypeDefinition<? extends TypeDefinition<?>> type = nodeType;
+            if (type instanceof IdentityrefTypeDefinition) {
+                this.typeName = IDENTITYREF;
+                this.typeNamespace = null;
+            } else if (type instanceof BooleanTypeDefinition) {
+                this.typeName = BOOLEAN;
+                this.typeNamespace = null;
+            } else if (type.getBaseType() == null) {
+                this.typeName = type.getQName().getLocalName();
+                this.typeNamespace = null;
+            } else {
+                if (node.getQName().getLocalName().equals(type.getQName().getLocalName())) {
+                    type = type.getBaseType();
+                }
+                this.typeName = type.getQName().getLocalName();
+                this.typeNamespace = isBaseType(type) ? null : type.getQName().getNamespace();
+            }
+            if (type instanceof LeafrefTypeDefinition) {
+                this.leafrefPath = ((LeafrefTypeDefinition) type).getPathStatement().toString();
+            } else {
+                this.leafrefPath = null;
+            }
+        } else {
+            this.nodeType = null;
+            if (node instanceof AnydataEffectiveStatement) {
+                this.typeName = ANYDATA;
+            } else if (node instanceof AnyxmlEffectiveStatement) {
+                this.typeName = ANYXML;
+            } else {
+                this.typeName = null;
+            }
+            this.typeNamespace = null;
+            this.leafrefPath = null;
+        }
+    }
+
+    private static List<String> resolveKeys(final SchemaNode node) {
+        if (node instanceof ListSchemaNode) {
+            final ImmutableList.Builder<String> builder = ImmutableList.builder();
+            for (final QName qname : ((ListSchemaNode) node).getKeyDefinition()) {
+                builder.add(qname.getLocalName());
+            }
+            return builder.build();
+        }
+        return ImmutableList.of();
+    }
+
+    private static List<IfFeatureStatement> resolveIfFeatures(final SchemaNode node) {
+        if (node instanceof AbstractDeclaredEffectiveStatement) {
+            final DeclaredStatement<?> declared = ((AbstractDeclaredEffectiveStatement) node).getDeclared();
+            if (declared instanceof IfFeatureAwareDeclaredStatement) {
+                final Collection<IfFeatureStatement> ifFeature
+                        = ((IfFeatureAwareDeclaredStatement) declared).getIfFeatures();
+                return ImmutableList.copyOf(ifFeature);
+            }
+        }
+        return ImmutableList.of();
+    }
+
+    private static boolean isBaseType(final TypeDefinition<? extends TypeDefinition<?>> type) {
+        TypeDefinition<?> baseType = type.getBaseType();
+        if (baseType == null) {
+            return true;
+        }
+        while (baseType != null) {
+            if (!baseType.getQName().getLocalName().equals(type.getQName().getLocalName())) {
+                return false;
+            }
+            baseType = baseType.getBaseType();
+        }
+        return true;
+    }
+
+    private static String resolveQualifiedTypeName(final TypeDefinition<? extends TypeDefinition<?>> type,
+            final EffectiveModelContext context) {
+        final QName typeQName = type.getQName();
+        if (BASE_TYPE_NAMESPACE.equals(typeQName.getNamespace()) || type instanceof IdentityrefTypeDefinition) {
+            return typeQName.getLocalName();
+        }
+        final String prefix = context.findModule(typeQName.getNamespace(), typeQName.getRevision())
+                .orElseThrow(() -> new NotFoundException("Module", typeQName.getNamespace().toString()))
+                .getPrefix();
+        return prefix + ":" + typeQName.getLocalName();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Check whether the node is mandatory on its own. Keys of the lists are mandatory too, but this depends on the
+     * parent list and it is resolved by {@link LyvNodeData#isNodeMandatory()}.
+     *
+     * @return true if the node is mandatory
+     */
+    public boolean isMandatory() {
+        return mandatory;
+    }
+
+    public boolean isListOrLeafList() {
+        return listOrLeafList;
+    }
+
+    public boolean isChoice() {
+        return choice;
+    }
+
+    public boolean isCase() {
+        return caseNode;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public List<IfFeatureStatement> getIfFeatures() {
+        return ifFeatures;
+    }
+
+    /**
+     * Get name of the type of the node as printed in the tree, prefixed if the type is not a base type and its
+     * namespace has a prefix in given map.
+     *
+     * @param namespacePrefix prefixes of the namespaces used by rendered module
+     * @return name of the type or null if the node has no type
+     */
+    public @Nullable String getTypeName(final Map<XMLNamespace, String> namespacePrefix) {
+        if (typeNamespace != null) {
+            final String prefix = namespacePrefix.get(typeNamespace);
+            if (prefix != null) {
+                return prefix + ":" + typeName;
+            }
+        }
+        return typeName;
+    }
+
+    /**
+     * Get path of the leafref type of the node.
+     *
+     * @return leafref path or null if the node is not a leafref
+     */
+    public @Nullable String getLeafrefPath() {
+        return leafrefPath;
+    }
+
+    /**
+     * Get name of the type of the node prefixed with the prefix of the module defining the type. Built-in types and
+     * identityrefs are not prefixed.
+     *
+     * @return name of the type or null if the node has no type
+     */
+    public @Nullable String getQualifiedTypeName() {
+        if (qualifiedTypeName == null && nodeType != null) {
+            qualifiedTypeName = resolveQualifiedTypeName(nodeType, context);
+        }
+        return qualifiedTypeName;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+
+/**
+ * Cache of {@link SchemaNodeDescriptor}s of one {@link EffectiveModelContext}. Cache is owned by one run of a format,
+ * so every module rendered in the run shares the descriptors computed before and the cache is released together
+ * with the format.
+ *
+ * <p>
+ * This class is thread-safe.
+ */
+public final class SchemaNodeDescriptorCache {
+
+    private final EffectiveModelContext context;
+    private final Map<SchemaNode, SchemaNodeDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final Map<QName, Boolean> notifications = new ConcurrentHashMap<>();
+
+    public SchemaNodeDescriptorCache(final EffectiveModelContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Get descriptor of given node, computing it on the first request.
+     *
+     * @param node schema node from the context of this cache
+     * @return descriptor of the node
+     */
+    public SchemaNodeDescriptor getDescriptor(final SchemaNode node) {
+        return descriptors.computeIfAbsent(node, key -> new SchemaNodeDescriptor(key, context));
+    }
+
+    /**
+     * Check whether the node on given path is a notification or it is placed in a notification.
+     *
+     * @param absolutePath path of the node
+     * @return true if the first node of the path is a top level notification
+     */
+    public boolean isInNotification(final Absolute absolutePath) {
+        return notifications.computeIfAbsent(absolutePath.firstNodeIdentifier(),
+                qname -> context.findNotification(qname).isPresent());
+    }
+}
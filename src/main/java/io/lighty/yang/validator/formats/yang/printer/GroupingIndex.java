@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.yang.printer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+
+/**
+ * Index of the direct children of the groupings of one module by their QName. Each child is stored with a fingerprint
+ * of its substatements, so a node added by uses is matched to its grouping by a hash lookup instead of comparing
+ * the substatements of every child of every grouping.
+ */
+final class GroupingIndex {
+
+    private final Map<QName, List<Candidate>> candidates = new HashMap<>();
+
+    GroupingIndex(final Module module) {
+        for (final GroupingDefinition grouping : module.getGroupings()) {
+            for (final DataSchemaNode child : grouping.getChildNodes()) {
+                if (child instanceof EffectiveStatement) {
+                    candidates.computeIfAbsent(child.getQName(), qname -> new ArrayList<>(1))
+                            .add(new Candidate(grouping, ((EffectiveStatement<?, ?>) child).effectiveSubstatements()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Find grouping with a child, which has the same name and the same substatements as given node.
+     *
+     * @param schemaNode node added by uses
+     * @return first matching grouping in the order of the module groupings or empty if there is none
+     */
+    Optional<GroupingDefinition> findGrouping(final DataSchemaNode schemaNode) {
+        if (!(schemaNode instanceof EffectiveStatement)) {
+            return Optional.empty();
+        }
+        final List<Candidate> named = candidates.getOrDefault(schemaNode.getQName(), Collections.emptyList());
+        if (named.isEmpty()) {
+            return Optional.empty();
+        }
+        final Collection<? extends EffectiveStatement<?, ?>> substatements =
+                ((EffectiveStatement<?, ?>) schemaNode).effectiveSubstatements();
+        for (final Candidate candidate : named) {
+            if (candidate.matches(substatements)) {
+                return Optional.of(candidate.grouping);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Substatements are identified by their declared statement, which is shared by the copies of the grouping
+     * child made by uses. Undeclared substatements are identified by themselves.
+     */
+    private static Object fingerprint(final EffectiveStatement<?, ?> statement) {
+        final Object declared = statement.getDeclared();
+        return declared == null ? statement : declared;
+    }
+
+    private static final class Candidate {
+
+        private final GroupingDefinition grouping;
+        private final int size;
+        private final Set<Object> fingerprints = new HashSet<>();
+
+        Candidate(final GroupingDefinition grouping,
+                final Collection<? extends EffectiveStatement<?, ?>> substatements) {
+            this.grouping = grouping;
+            this.size = substatements.size();
+            for (final EffectiveStatement<?, ?> substatement : substatements) {
+                fingerprints.add(fingerprint(substatement));
+            }
+        }
+
+        boolean matches(final Collection<? extends EffectiveStatement<?, ?>> substatements) {
+            if (substatements.size() != size) {
+                return false;
+            }
+            for (final EffectiveStatement<?, ?> substatement : substatements) {
+                if (!fingerprints.contains(fingerprint(substatement))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
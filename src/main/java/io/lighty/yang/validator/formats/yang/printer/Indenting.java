@@ -7,60 +7,116 @@
  */
 package io.lighty.yang.validator.formats.yang.printer;
 
+/**
+ * Formats the indented lines of the printed module. Lines are formatted directly into the buffer provided by the
+ * backend, the indentation of each level is created only once and multi-line texts are processed in place.
+ */
 abstract class Indenting {
 
-    abstract void println(int level, String name, String text, boolean separately);
+    private static final String INDENT = "    ";
+    private static final int CACHED_LEVELS = 32;
+    private static final String[] INDENTS = new String[CACHED_LEVELS];
 
-    abstract void println(int level, String text);
+    static {
+        INDENTS[0] = "";
+        for (int i = 1; i < CACHED_LEVELS; i++) {
+            INDENTS[i] = INDENTS[i - 1] + INDENT;
+        }
+    }
 
-    abstract void println(String text);
+    /**
+     * Get buffer, to which the next line is formatted.
+     *
+     * @return buffer of the backend
+     */
+    abstract StringBuilder lineBuffer();
 
-    static String indent(final int level, String name, final String text, boolean separately) {
-        final String[] textLines = text.split("\n");
-        final StringBuilder builder = new StringBuilder();
+    /**
+     * Finish the line formatted to the buffer returned by {@link #lineBuffer()}.
+     */
+    abstract void endLine();
 
-        if (textLines.length > 1) {
-            separately = true;
-        }
-        for (int i = 0; i < level; i++) {
-            builder.append("    ");
+    /**
+     * Write all finished lines to the output.
+     */
+    void flush() {
+        // lines are written as they are finished by default
+    }
+
+    void println(final int level, final String name, final CharSequence text, final boolean separately) {
+        indent(lineBuffer(), level, name, text, separately);
+        endLine();
+    }
+
+    void println(final int level, final CharSequence text) {
+        println(level, "", text, false);
+    }
+
+    void println(final String text) {
+        lineBuffer().append(text);
+        endLine();
+    }
+
+    static void indent(final StringBuilder builder, final int level, final String name, final CharSequence text,
+            final boolean isSeparately) {
+        // trailing empty lines are ignored, the same as String.split does
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == '\n') {
+            end--;
         }
-        if (!separately && (!name.isEmpty())) {
-            name += " ";
+        final int lineCount = end == 0 ? (text.length() == 0 ? 1 : 0) : countLines(text, end);
+        final boolean multiLine = lineCount > 1;
+        final boolean separately = isSeparately || multiLine;
+
+        builder.append(indentation(level)).append(name);
+        if (!separately && !name.isEmpty()) {
+            builder.append(' ');
         }
-        builder.append(name);
         if (separately) {
-            builder.append("\n");
+            builder.append('\n');
         }
 
-        builder.append(getBuilderForEachTextLine(level, separately, textLines));
+        int start = 0;
+        for (int i = 0; i < lineCount; i++) {
+            final int lineEnd = i == lineCount - 1 ? end : indexOfNewLine(text, start);
+            if (separately && lineEnd > start) {
+                builder.append(indentation(level + 1));
+            }
+            builder.append(text, start, lineEnd);
+            if (multiLine) {
+                if (i == 0) {
+                    builder.setLength(builder.length() - 1);
+                }
+                builder.append('\n');
+            }
+            start = lineEnd + 1;
+        }
 
-        if (textLines.length > 1) {
+        if (multiLine) {
             builder.setLength(builder.length() - 1);
         }
-        return builder.toString();
     }
 
-    private static StringBuilder getBuilderForEachTextLine(final int level, final boolean separately,
-            final String[] textLines) {
-        final StringBuilder builder = new StringBuilder();
-        boolean firstLine = true;
-        for (final String line : textLines) {
-            if (separately && !line.isEmpty()) {
-                for (int i = 0; i <= level; i++) {
-                    builder.append("    ");
-                }
+    private static String indentation(final int level) {
+        return level < CACHED_LEVELS ? INDENTS[level] : INDENT.repeat(level);
+    }
+
+    private static int countLines(final CharSequence text, final int end) {
+        int count = 1;
+        for (int i = 0; i < end; i++) {
+            if (text.charAt(i) == '\n') {
+                count++;
             }
-            builder.append(line);
-            if (textLines.length > 1) {
-                if (firstLine) {
-                    builder.setLength(builder.length() - 1);
-                    firstLine = false;
-                }
-                builder.append("\n");
+        }
+        return count;
+    }
+
+    private static int indexOfNewLine(final CharSequence text, final int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
             }
         }
-        return builder;
+        return text.length();
     }
 }
-
@@ -13,29 +13,22 @@ import org.slf4j.Logger;
 class IndentingLogger extends Indenting {
 
     private final Logger log;
+    private final StringBuilder line = new StringBuilder();
 
     IndentingLogger(final Logger log) {
         this.log = log;
     }
 
-    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
-                        justification = "Valid output from LYV is dependent on Logback output")
-    void println(final int level, final String name, final String text, final boolean separately) {
-        final String indent = indent(level, name, text, separately);
-        this.log.info("{}", indent);
+    @Override
+    StringBuilder lineBuffer() {
+        line.setLength(0);
+        return line;
     }
 
+    @Override
     @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
                         justification = "Valid output from LYV is dependent on Logback output")
-    void println(final int level, final String text) {
-        final String indent = indent(level, "", text, false);
-        this.log.info("{}", indent);
-    }
-
-    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT",
-                        justification = "Valid output from LYV is dependent on Logback output")
-    void println(final String text) {
-        this.log.info("{}", text);
+    void endLine() {
+        this.log.info("{}", line.toString());
     }
 }
-
@@ -7,27 +7,67 @@
  */
 package io.lighty.yang.validator.formats.yang.printer;
 
-import java.io.PrintStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 
+/**
+ * Backend collecting the lines in one growable buffer, which is written to the output, when it grows over
+ * {@value #FLUSH_THRESHOLD} characters and when the printing is finished.
+ */
 class IndentingPrinter extends Indenting {
 
-    private final PrintStream printStream;
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
 
-    IndentingPrinter(final PrintStream printStream) {
-        this.printStream = printStream;
-    }
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD);
+    private final Writer writer;
+    private char[] chars = new char[0];
 
-    void println(final int level, final String name, final String text, final boolean separately) {
-        printStream.println(indent(level, name, text, separately));
+    IndentingPrinter(final OutputStream out, final Charset charset) {
+        this.writer = Channels.newWriter(Channels.newChannel(out), charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), FLUSH_THRESHOLD);
     }
 
-    void println(final int level, final String text) {
-        printStream.println(indent(level, "", text, false));
+    @Override
+    StringBuilder lineBuffer() {
+        return buffer;
     }
 
-    void println(final String text) {
-        printStream.println(text);
+    @Override
+    void endLine() {
+        buffer.append(LINE_SEPARATOR);
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            writeBuffer();
+        }
     }
-}
 
+    @Override
+    void flush() {
+        writeBuffer();
+        try {
+            writer.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    private void writeBuffer() {
+        final int length = buffer.length();
+        if (chars.length < length) {
+            chars = new char[length];
+        }
+        buffer.getChars(0, length, chars, 0);
+        buffer.setLength(0);
+        try {
+            writer.write(chars, 0, length);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
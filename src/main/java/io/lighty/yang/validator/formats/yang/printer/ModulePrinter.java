@@ -10,7 +10,6 @@ package io.lighty.yang.validator.formats.yang.printer;
 import io.lighty.yang.validator.exceptions.NotFoundException;
 import io.lighty.yang.validator.simplify.SchemaTree;
 import java.io.OutputStream;
-import java.io.PrintStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.HashMap;
@@ -39,7 +38,6 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.ModuleImport;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.DescriptionStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.stmt.ReferenceStatement;
@@ -61,6 +59,7 @@ public class ModulePrinter {
     private final SmartTypePrintingStrategy typePrinter;
     private final Module module;
     private final Map<QNameModule, String> moduleToPrefix;
+    private final GroupingIndex groupingIndex;
     private final Set<String> usedGroupingNames = new HashSet<>();
 
     private final HashMap<GroupingDefinition, Set<SchemaTree>> groupingTreesMap = new HashMap<>();
@@ -69,7 +68,7 @@ public class ModulePrinter {
             final QNameModule moduleName, final OutputStream out, final Set<TypeDefinition<?>> usedTypes,
             final Set<String> usedImports) {
         this(schemaTree, schemaContext, moduleName,
-                new IndentingPrinter(new PrintStream(out, false, Charset.defaultCharset())),
+                new IndentingPrinter(out, Charset.defaultCharset()),
                 usedTypes, usedImports);
     }
 
@@ -94,6 +93,7 @@ public class ModulePrinter {
                                 .findModules(i.getModuleName()).iterator().next().getQNameModule(),
                         ModuleImport::getPrefix));
         typePrinter = new SmartTypePrintingStrategy(module, moduleToPrefix);
+        groupingIndex = new GroupingIndex(module);
     }
 
     public void printYang() {
@@ -107,6 +107,7 @@ public class ModulePrinter {
         }
         printGroupings(groupingTreesMap);
         printer.closeStatement();
+        printer.flush();
     }
 
     private void printAugmentations() {
@@ -167,10 +168,7 @@ public class ModulePrinter {
     private boolean printingUses(final DataSchemaNode schemaNode, final boolean isPrintingAllowed,
             final String groupingName, final SchemaTree tree,
             final HashMap<GroupingDefinition, Set<SchemaTree>> groupingTrees) {
-        final List<GroupingDefinition> groupingDefinitions = module.getGroupings().stream()
-                .filter(g -> g.findDataChildByName(schemaNode.getQName()).isPresent())
-                .collect(Collectors.toList());
-        final Optional<GroupingDefinition> match = findMatchInGroupingDefinitions(groupingDefinitions, schemaNode);
+        final Optional<GroupingDefinition> match = groupingIndex.findGrouping(schemaNode);
         if (match.isEmpty()) {
             return isPrintingAllowed;
         }
@@ -206,34 +204,6 @@ public class ModulePrinter {
         return false;
     }
 
-    private Optional<GroupingDefinition> findMatchInGroupingDefinitions(
-            final List<GroupingDefinition> groupingDefinitions, final DataSchemaNode schemaNode) {
-        Optional<GroupingDefinition> match;
-        for (final GroupingDefinition grouping : groupingDefinitions) {
-            final Optional<DataSchemaNode> dataChildByName = grouping.findDataChildByName(schemaNode.getQName());
-            if (dataChildByName.isEmpty()) {
-                continue;
-            }
-            final DataSchemaNode dataSchemaNode = dataChildByName.get();
-
-            if (!(dataSchemaNode instanceof EffectiveStatement || schemaNode instanceof EffectiveStatement)) {
-                continue;
-            }
-            final Collection<? extends EffectiveStatement<?, ?>> effectiveStatements
-                    = ((EffectiveStatement<?, ?>) dataSchemaNode).effectiveSubstatements();
-            final EffectiveStatement<?, ?> effectiveSchemaNode = (EffectiveStatement<?, ?>) schemaNode;
-            if (effectiveSchemaNode.effectiveSubstatements().size() != effectiveStatements.size()) {
-                continue;
-            }
-
-            match = getGroupingDefinitionMatch(effectiveSchemaNode, effectiveStatements, grouping);
-            if (match.isPresent()) {
-                return match;
-            }
-        }
-        return Optional.empty();
-    }
-
     private void resolveChoiceSchemaNode(final Set<SchemaTree> schemaTrees, final SchemaTree tree) {
         boolean extendedTree = false;
         for (final SchemaTree st : schemaTrees) {
@@ -251,37 +221,6 @@ public class ModulePrinter {
         }
     }
 
-    private Optional<GroupingDefinition> getGroupingDefinitionMatch(final EffectiveStatement<?, ?> schemaNode,
-            final Collection<? extends EffectiveStatement<?, ?>> collection, final GroupingDefinition grouping) {
-        boolean allSubstatementFound = true;
-        for (final EffectiveStatement<?, ?> compare : schemaNode.effectiveSubstatements()) {
-            if (isSubstatementNotFound(collection, compare)) {
-                allSubstatementFound = false;
-                break;
-            }
-        }
-        if (allSubstatementFound) {
-            return Optional.of(grouping);
-        }
-        return Optional.empty();
-    }
-
-    private boolean isSubstatementNotFound(final Collection<? extends EffectiveStatement<?, ?>> collection,
-            final EffectiveStatement<?, ?> compare) {
-        for (final EffectiveStatement<?, ?> substatement : collection) {
-            if (compare.getDeclared() == null) {
-                if (compare.equals(substatement)) {
-                    return false;
-                }
-            } else {
-                if (compare.getDeclared().equals(substatement.getDeclared())) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
     private void doPrintSchema(boolean isPrintingAllowed, final SchemaTree tree, final String groupingName,
             final HashMap<GroupingDefinition, Set<SchemaTree>> groupingTrees) {
         final DataSchemaNode schemaNode = tree.getSchemaNode();
@@ -10,6 +10,7 @@ package io.lighty.yang.validator.formats.yang.printer;
 class StatementPrinter {
 
     private final Indenting printer;
+    private final StringBuilder statement = new StringBuilder();
     private int indentation;
 
     StatementPrinter(final Indenting printer) {
@@ -17,7 +18,9 @@ class StatementPrinter {
     }
 
     void openStatement(final Statement type, final String name) {
-        printer.println(indentation, type.getText() + " " + name + " {");
+        statement.setLength(0);
+        statement.append(type.getText()).append(' ').append(name).append(" {");
+        printer.println(indentation, statement);
         indentation++;
     }
 
@@ -27,11 +30,11 @@ class StatementPrinter {
     }
 
     void printSimple(final String name, final String text) {
-        printer.println(indentation, name, text + ";", false);
+        printer.println(indentation, name, terminate(text), false);
     }
 
     void printSimpleSeparately(final String name, final String text) {
-        printer.println(indentation, name, text + ";", true);
+        printer.println(indentation, name, terminate(text), true);
     }
 
     void printEmptyLine() {
@@ -41,5 +44,13 @@ class StatementPrinter {
     void printConfig(final boolean config) {
         printSimple("config", Boolean.toString(config));
     }
-}
 
+    void flush() {
+        printer.flush();
+    }
+
+    private CharSequence terminate(final String text) {
+        statement.setLength(0);
+        return statement.append(text).append(';');
+    }
+}
@@ -7,11 +7,16 @@
  */
 package io.lighty.yang.validator.simplify;
 
+import io.lighty.yang.validator.simplify.stream.SchemaNodeLookupCache;
 import io.lighty.yang.validator.simplify.stream.TrackingXmlParserStream;
+import io.lighty.yang.validator.simplify.stream.XmlCodecCache;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -35,18 +40,20 @@ public class SchemaSelector {
     private static final XMLInputFactory FACTORY = XMLInputFactory.newInstance();
     private final EffectiveModelContext effectiveModelContext;
     private final SchemaTree tree;
-    @SuppressWarnings("UnstableApiUsage")
-    private final XmlCodecFactory codecs;
+    private final XmlCodecCache codecs;
+    private final SchemaNodeLookupCache lookupCache = new SchemaNodeLookupCache();
+    private int xmlFileCount;
 
     @SuppressWarnings("UnstableApiUsage")
     public SchemaSelector(final EffectiveModelContext effectiveModelContext) {
         this.effectiveModelContext = effectiveModelContext;
-        this.codecs = XmlCodecFactory.create(effectiveModelContext);
+        this.codecs = new XmlCodecCache(XmlCodecFactory.create(effectiveModelContext));
         tree = new SchemaTree(SchemaTree.ROOT, null,
                 false, false, null);
     }
 
     public void addXml(final InputStream xml) throws XMLStreamException, IOException, URISyntaxException {
+        xmlFileCount++;
         fillUsedSchema(xml, tree);
     }
 
@@ -60,27 +67,43 @@ public class SchemaSelector {
         final NormalizedNodeResult result = new NormalizedNodeResult();
         final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
         final TrackingXmlParserStream xmlParser =
-                new TrackingXmlParserStream(streamWriter, codecs, effectiveModelContext, true, st);
+                new TrackingXmlParserStream(streamWriter, codecs, effectiveModelContext, true, st, lookupCache,
+                        true, xmlFileCount);
         xmlParser.parse(reader);
         xmlParser.flush();
         xmlParser.close();
     }
 
+    /**
+     * Fill the schema tree with all nodes of all modules. Tree of each module is resolved concurrently and the
+     * results are then merged in the order of the modules, so the tree is the same as if the modules were resolved
+     * one after another.
+     */
     public void noXml() {
+        final List<Module> modules = new ArrayList<>(effectiveModelContext.getModules());
+        final List<SchemaTree> moduleTrees = modules.parallelStream()
+                .map(this::resolveModule)
+                .collect(Collectors.toList());
+        for (final SchemaTree moduleTree : moduleTrees) {
+            tree.addChildren(moduleTree);
+        }
+    }
+
+    private SchemaTree resolveModule(final Module module) {
+        final SchemaTree moduleTree = new SchemaTree(SchemaTree.ROOT, null, false, false, null);
         final SchemaInferenceStack schemaInferenceStack = SchemaInferenceStack.of(effectiveModelContext);
-        for (final Module module : effectiveModelContext.getModules()) {
-            for (final DataSchemaNode node : module.getChildNodes()) {
-                resolveChildNodes(tree, node, true, false, schemaInferenceStack);
-            }
+        for (final DataSchemaNode node : module.getChildNodes()) {
+            resolveChildNodes(moduleTree, node, true, false, schemaInferenceStack);
+        }
 
-            for (final AugmentationSchemaNode aug : module.getAugmentations()) {
-                schemaInferenceStack.enterSchemaTree(aug.getTargetPath());
-                for (final DataSchemaNode node : aug.getChildNodes()) {
-                    resolveChildNodes(tree, node, true, true, schemaInferenceStack);
-                }
-                schemaInferenceStack.clear();
+        for (final AugmentationSchemaNode aug : module.getAugmentations()) {
+            schemaInferenceStack.enterSchemaTree(aug.getTargetPath());
+            for (final DataSchemaNode node : aug.getChildNodes()) {
+                resolveChildNodes(moduleTree, node, true, true, schemaInferenceStack);
             }
+            schemaInferenceStack.clear();
         }
+        return moduleTree;
     }
 
     private void resolveChildNodes(final SchemaTree schemaTree, final DataSchemaNode node, final boolean rootNode,
@@ -25,6 +25,9 @@ public class SchemaTree implements Comparable<SchemaTree> {
     private final boolean isAugmenting;
     private final ActionDefinition actionNode;
     private final Set<SchemaTree> children = new LinkedHashSet<>();
+    private long occurrences;
+    private int fileCount;
+    private int lastFileId;
 
     SchemaTree(final Absolute absolutePath, final DataSchemaNode schemaNode,
             final boolean isRootNode, final boolean isAugmenting,
@@ -60,6 +63,45 @@ public class SchemaTree implements Comparable<SchemaTree> {
         return actionNode;
     }
 
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Record one occurrence of this node in the source file with given id. Ids of the source files have to be
+     * positive and have to be used one after another, as only the id of the last file is remembered.
+     *
+     * @param fileId id of the source file where this node occurred
+     */
+    public void recordOccurrence(final int fileId) {
+        occurrences++;
+        if (fileId != lastFileId) {
+            lastFileId = fileId;
+            fileCount++;
+        }
+    }
+
+    void setCounts(final long newOccurrences, final int newFileCount) {
+        this.occurrences = newOccurrences;
+        this.fileCount = newFileCount;
+    }
+
+    /**
+     * Remove all descendants of this node which occurred in less than {@code minFileCount} source files.
+     *
+     * @param minFileCount minimal number of source files the descendant has to occur in to be kept
+     */
+    public void removeChildrenBelowFileCount(final int minFileCount) {
+        children.removeIf(child -> child.getFileCount() < minFileCount);
+        for (final SchemaTree child : children) {
+            child.removeChildrenBelowFileCount(minFileCount);
+        }
+    }
+
     public SchemaTree addChild(final SchemaTree tree) {
         if (children.add(tree)) {
             return tree;
@@ -72,6 +114,21 @@ public class SchemaTree implements Comparable<SchemaTree> {
         }
     }
 
+    /**
+     * Add all children of the {@code other} tree to this tree. Children already present in this tree are not
+     * replaced, their descendants are merged instead.
+     *
+     * @param other tree whose children are added
+     */
+    void addChildren(final SchemaTree other) {
+        for (final SchemaTree child : other.getChildren()) {
+            final SchemaTree existing = addChild(child);
+            if (existing != child) {
+                existing.addChildren(child);
+            }
+        }
+    }
+
     public SchemaTree addChild(final DataSchemaNode schemaNodeInput, final boolean isRootNodeInput,
             final boolean isAugmentingInput, final Absolute absolute) {
         final SchemaTree tree = new SchemaTree(absolute, schemaNodeInput,
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.simplify;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+
+/**
+ * File persisting the {@link SchemaTree} filled by simplify, together with hashes of the XML files already used to
+ * fill it. This allows to run simplify repeatedly over a growing directory of XML files and parse only files which
+ * were not used before.
+ *
+ * <p>
+ * File is a plain text file. First line is a header, followed by lines {@code file <sha-256>} with hashes of used
+ * XML files and lines {@code node <depth> <data|action> <root> <augmenting> <occurrences> <files> <qname>} with
+ * nodes of the schema tree in pre-order, where {@code depth} of the top level nodes is 1.
+ */
+public final class SchemaUsageFile {
+
+    private static final String HEADER = "lyv-simplify-usage 1";
+    private static final String FILE = "file";
+    private static final String NODE = "node";
+    private static final String DATA = "data";
+    private static final String ACTION = "action";
+
+    private final Path path;
+    private final Set<String> fileHashes = new LinkedHashSet<>();
+
+    public SchemaUsageFile(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Compute hash of the content of given XML file.
+     *
+     * @param xmlFile XML file
+     * @return SHA-256 of the file content
+     * @throws IOException if the file can not be read
+     */
+    public static String hash(final File xmlFile) throws IOException {
+        return com.google.common.io.Files.asByteSource(xmlFile).hash(Hashing.sha256()).toString();
+    }
+
+    /**
+     * Check whether the file with given hash was already used to fill the schema tree.
+     *
+     * @param fileHash hash of the XML file computed by {@link #hash(File)}
+     * @return true if the file was already used
+     */
+    public boolean containsFile(final String fileHash) {
+        return fileHashes.contains(fileHash);
+    }
+
+    /**
+     * Record the hash of the XML file used to fill the schema tree.
+     *
+     * @param fileHash hash of the XML file computed by {@link #hash(File)}
+     */
+    public void addFile(final String fileHash) {
+        fileHashes.add(fileHash);
+    }
+
+    /**
+     * Load the file, if it exists, and add all of its nodes to the {@code root}.
+     *
+     * @param root    root of the schema tree to fill
+     * @param context schema context used to look up the schema nodes
+     * @throws IOException if the file can not be read, is malformed or contains a node which is not present in the
+     *                     {@code context}
+     */
+    public void load(final SchemaTree root, final EffectiveModelContext context) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                throw new IOException(String.format("File %s is not a simplify usage file", path));
+            }
+            final Deque<SchemaTree> parents = new ArrayDeque<>();
+            parents.push(root);
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                final String[] fields = line.split(" ");
+                if (FILE.equals(fields[0]) && fields.length == 2) {
+                    fileHashes.add(fields[1]);
+                } else if (NODE.equals(fields[0]) && fields.length == 8) {
+                    loadNode(fields, parents, root, context);
+                } else {
+                    throw new IOException(String.format("Malformed line %s in file %s", lineNumber, path));
+                }
+            }
+        } catch (final IllegalArgumentException e) {
+            throw new IOException(String.format("Malformed simplify usage file %s", path), e);
+        }
+    }
+
+    private static void loadNode(final String[] fields, final Deque<SchemaTree> parents, final SchemaTree root,
+            final EffectiveModelContext context) throws IOException {
+        final int depth = Integer.parseInt(fields[1]);
+        while (parents.size() > depth) {
+            parents.pop();
+        }
+        if (depth < 1 || parents.size() != depth) {
+            throw new IOException(String.format("Node %s has no parent", fields[7]));
+        }
+        final SchemaTree parent = parents.peek();
+        final QName qname = QName.create(fields[7]);
+        final Absolute absolute;
+        if (parent == root) {
+            absolute = Absolute.of(qname);
+        } else {
+            absolute = Absolute.of(ImmutableList.<QName>builder()
+                    .addAll(parent.getAbsolutePath().getNodeIdentifiers())
+                    .add(qname)
+                    .build());
+        }
+        final boolean isRootNode = "1".equals(fields[3]);
+        final boolean isAugmenting = "1".equals(fields[4]);
+        final SchemaTree child;
+        if (ACTION.equals(fields[2])) {
+            child = parent.addChild(context.findSchemaTreeNode(ActionDefinition.class, absolute)
+                    .orElseThrow(() -> notFound(absolute)), isRootNode, isAugmenting, absolute);
+        } else {
+            child = parent.addChild(context.findSchemaTreeNode(DataSchemaNode.class, absolute)
+                    .orElseThrow(() -> notFound(absolute)), isRootNode, isAugmenting, absolute);
+        }
+        child.setCounts(Long.parseLong(fields[5]), Integer.parseInt(fields[6]));
+        parents.push(child);
+    }
+
+    private static IOException notFound(final Absolute absolute) {
+        return new IOException(String.format("Schema node %s from simplify usage file does not exist", absolute));
+    }
+
+    /**
+     * Save hashes of all used XML files and all nodes of the schema tree.
+     *
+     * @param root root of the schema tree to save
+     * @throws IOException if the file can not be written
+     */
+    public void save(final SchemaTree root) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (final String fileHash : fileHashes) {
+                writer.write(FILE + " " + fileHash);
+                writer.newLine();
+            }
+            for (final SchemaTree child : root.getChildren()) {
+                saveNode(writer, child, 1);
+            }
+        }
+    }
+
+    private static void saveNode(final BufferedWriter writer, final SchemaTree tree, final int depth)
+            throws IOException {
+        writer.write(NODE);
+        writer.write(' ');
+        writer.write(Integer.toString(depth));
+        writer.write(' ');
+        writer.write(tree.getActionNode() == null ? DATA : ACTION);
+        writer.write(tree.isRootNode() ? " 1" : " 0");
+        writer.write(tree.isAugmenting() ? " 1 " : " 0 ");
+        writer.write(Long.toString(tree.getOccurrences()));
+        writer.write(' ');
+        writer.write(Integer.toString(tree.getFileCount()));
+        writer.write(' ');
+        writer.write(tree.getQname().toString());
+        writer.newLine();
+        for (final SchemaTree child : tree.getChildren()) {
+            saveNode(writer, child, depth + 1);
+        }
+    }
+}
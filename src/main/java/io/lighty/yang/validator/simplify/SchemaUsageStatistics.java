@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.simplify;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+
+/**
+ * Export of the usage counts collected in the {@link SchemaTree} by simplify. For each node of the tree it contains
+ * the number of its occurrences in all XML files and the number of XML files it occurred in.
+ */
+public final class SchemaUsageStatistics {
+
+    private static final String NAME = "name";
+    private static final String MODULE = "module";
+    private static final String OCCURRENCES = "occurrences";
+    private static final String FILES = "files";
+    private static final String CHILDREN = "children";
+
+    private SchemaUsageStatistics() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Write usage counts of all nodes of the schema tree to the JSON file.
+     *
+     * @param root    root of the schema tree
+     * @param context schema context used to resolve module names of the nodes
+     * @param path    output JSON file
+     * @throws IOException if the file can not be written
+     */
+    public static void exportJson(final SchemaTree root, final EffectiveModelContext context, final Path path)
+            throws IOException {
+        final JSONObject json = new JSONObject();
+        json.put(CHILDREN, toJson(root, context));
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(json.toString(4));
+        }
+    }
+
+    private static JSONArray toJson(final SchemaTree tree, final EffectiveModelContext context) {
+        final JSONArray children = new JSONArray();
+        for (final SchemaTree child : tree.getChildren()) {
+            final QName qname = child.getQname();
+            final JSONObject childJson = new JSONObject();
+            childJson.put(NAME, qname.getLocalName());
+            childJson.put(MODULE, context.findModule(qname.getModule()).map(Module::getName)
+                    .orElse(qname.getNamespace().toString()));
+            childJson.put(OCCURRENCES, child.getOccurrences());
+            childJson.put(FILES, child.getFileCount());
+            if (!child.getChildren().isEmpty()) {
+                childJson.put(CHILDREN, toJson(child, context));
+            }
+            children.put(childJson);
+        }
+        return children;
+    }
+}
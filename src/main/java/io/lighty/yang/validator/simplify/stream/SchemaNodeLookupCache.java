@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.simplify.stream;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.XMLNamespace;
+import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+/**
+ * Memoized results of {@link ParserStreamUtils#findSchemaNodeByNameAndNamespace(DataSchemaNode, String,
+ * XMLNamespace)}. Instance documents repeat the same parent, namespace and element name combinations over and over,
+ * so each combination is resolved only once per parent schema node and then shared by every following parse done
+ * with this cache. Parent schema nodes are compared by identity, as they all come from one
+ * {@link org.opendaylight.yangtools.yang.model.api.EffectiveModelContext}.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class SchemaNodeLookupCache {
+
+    private final Map<DataSchemaNode, Map<String, Map<String, ChildLookup>>> cache = new IdentityHashMap<>();
+
+    /**
+     * Find schema nodes of the XML element with given namespace and name under given parent schema node.
+     * For each combination the same {@link ChildLookup} instance is returned, so results can be compared by
+     * identity.
+     *
+     * @param parent    schema node of the parent XML element
+     * @param namespace namespace of the XML element
+     * @param localName local name of the XML element
+     * @return resolved child schema nodes
+     */
+    ChildLookup lookup(final DataSchemaNode parent, final String namespace, final String localName) {
+        final Map<String, ChildLookup> byName = cache
+                .computeIfAbsent(parent, k -> new HashMap<>())
+                .computeIfAbsent(namespace, k -> new HashMap<>());
+        ChildLookup lookup = byName.get(localName);
+        if (lookup == null) {
+            lookup = new ChildLookup(ImmutableList.copyOf(ParserStreamUtils.findSchemaNodeByNameAndNamespace(parent,
+                    localName, XMLNamespace.of(namespace))));
+            byName.put(localName, lookup);
+        }
+        return lookup;
+    }
+
+    /**
+     * Schema nodes found for one XML element, starting with the choice and case nodes which are not present in
+     * the XML and ending with the schema node of the element itself.
+     */
+    static final class ChildLookup {
+
+        private final List<DataSchemaNode> schemaNodes;
+
+        private ChildLookup(final List<DataSchemaNode> schemaNodes) {
+            this.schemaNodes = schemaNodes;
+        }
+
+        List<DataSchemaNode> getSchemaNodes() {
+            return schemaNodes;
+        }
+
+        boolean isEmpty() {
+            return schemaNodes.isEmpty();
+        }
+
+        /**
+         * Create new deque of schema nodes. Consumers like
+         * {@link org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema} pop elements from it, so it
+         * can not be shared.
+         *
+         * @return new deque containing found schema nodes
+         */
+        Deque<DataSchemaNode> toDeque() {
+            return new ArrayDeque<>(schemaNodes);
+        }
+    }
+}
@@ -15,17 +15,16 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableMap;
 import io.lighty.yang.validator.simplify.SchemaTree;
+import io.lighty.yang.validator.simplify.stream.SchemaNodeLookupCache.ChildLookup;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.Deque;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
@@ -34,6 +33,7 @@ import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.TransformerFactoryConfigurationError;
@@ -55,7 +55,6 @@ import org.opendaylight.yangtools.yang.data.util.LeafListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ListEntryNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
-import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.codec.TypeAwareCodec;
 import org.opendaylight.yangtools.yang.model.api.AnyxmlSchemaNode;
@@ -65,6 +64,7 @@ import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
 import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack;
 import org.w3c.dom.Document;
 
@@ -91,19 +91,41 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
     }
 
     private final NormalizedNodeStreamWriter writer;
-    private final XmlCodecFactory codecs;
+    private final XmlCodecCache codecs;
     private final DataSchemaNode parentNode;
     private final boolean strictParsing;
 
     private final SchemaTree tree;
+    private final SchemaNodeLookupCache lookupCache;
+    private final boolean trackingOnly;
+    private final int fileId;
+
+    private Transformer anyXmlTransformer;
 
     public TrackingXmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
             final DataSchemaNode parentNode, final boolean strictParsing, final SchemaTree tree) {
+        this(writer, new XmlCodecCache(codecs), parentNode, strictParsing, tree, new SchemaNodeLookupCache(), false,
+                1);
+    }
+
+    /**
+     * Create parser which resolves schema nodes and codecs of XML elements through given caches. Sharing the caches
+     * between parsers of multiple XML sources avoids repeated resolution of elements already seen in previous
+     * sources. If {@code trackingOnly} is set, content of anyxml nodes is skipped instead of being read into DOM and
+     * the anyxml nodes written to the {@code writer} are empty. Each node added to the {@code tree} records its
+     * occurrence in the source file with given positive {@code fileId}.
+     */
+    public TrackingXmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecCache codecs,
+            final DataSchemaNode parentNode, final boolean strictParsing, final SchemaTree tree,
+            final SchemaNodeLookupCache lookupCache, final boolean trackingOnly, final int fileId) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.parentNode = parentNode;
         this.strictParsing = strictParsing;
         this.tree = tree;
+        this.lookupCache = requireNonNull(lookupCache);
+        this.trackingOnly = trackingOnly;
+        this.fileId = fileId;
     }
 
     /**
@@ -166,7 +188,7 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
         return ImmutableMap.copyOf(attributes);
     }
 
-    private static Document readAnyXmlValue(final XMLStreamReader in) throws XMLStreamException {
+    private Document readAnyXmlValue(final XMLStreamReader in) throws XMLStreamException {
         // Underlying reader might return null when asked for version, however when such reader is plugged into
         // Stax -> DOM transformer, it fails with NPE due to null version. Use default xml version in such case.
         final XMLStreamReader inWrapper;
@@ -184,13 +206,39 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
 
         final DOMResult result = new DOMResult();
         try {
-            TRANSFORMER_FACTORY.newTransformer().transform(new StAXSource(inWrapper), result);
+            if (anyXmlTransformer == null) {
+                anyXmlTransformer = TRANSFORMER_FACTORY.newTransformer();
+            }
+            anyXmlTransformer.transform(new StAXSource(inWrapper), result);
         } catch (final TransformerException e) {
             throw new XMLStreamException("Unable to read anyxml value", e);
+        } finally {
+            if (anyXmlTransformer != null) {
+                anyXmlTransformer.reset();
+            }
         }
         return (Document) result.getNode();
     }
 
+    /**
+     * Move the reader from the start of an anyxml element to its end without reading the content. The reader is left
+     * on END_ELEMENT of the anyxml node, where {@link #readAnyXmlValue(XMLStreamReader)} leaves it as well.
+     *
+     * @param in StAX based XML reader positioned at START_ELEMENT of the anyxml node
+     * @throws XMLStreamException if a well-formedness error occurs while skipping the content
+     */
+    private static void skipAnyXmlValue(final XMLStreamReader in) throws XMLStreamException {
+        int levelOfNesting = 1;
+        while (levelOfNesting > 0 && in.hasNext()) {
+            final int event = in.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                levelOfNesting++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                levelOfNesting--;
+            }
+        }
+    }
+
     /**
      * Recursive method which constructs the {@code parent} tree and sets the values of it's {@link
      * SimpleNodeDataWithSchema} (leaf-list entry, leaf, anyxml) based on the parsed xml.
@@ -233,7 +281,13 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
         }
 
         if (parent instanceof AnyXmlNodeDataWithSchema) {
-            setValue(parent, readAnyXmlValue(in), in.getNamespaceContext(), schemaIS);
+            if (trackingOnly) {
+                skipAnyXmlValue(in);
+                // every node gets its own empty value, so no mutable source is shared between parsed nodes
+                ((AnyXmlNodeDataWithSchema) parent).setValue(new DOMSource());
+            } else {
+                setValue(parent, readAnyXmlValue(in), in.getNamespaceContext(), schemaIS);
+            }
             if (!isNextEndDocument(in) && !isAtElement(in)) {
                 in.nextTag();
             }
@@ -247,7 +301,13 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
             final String rootElement, final SchemaTree schemaTree, final SchemaInferenceStack schemaIS)
             throws XMLStreamException, URISyntaxException {
         String xmlElementName = in.getLocalName();
+        boolean firstEntry = true;
         while (xmlElementName.equals(parent.getSchema().getQName().getLocalName())) {
+            // Occurrence of the first entry was recorded when the node was added to the schemaTree
+            if (!firstEntry) {
+                schemaTree.recordOccurrence(fileId);
+            }
+            firstEntry = false;
             read(in, newEntryNode(parent), rootElement, schemaTree, schemaIS);
             if (in.getEventType() == XMLStreamConstants.END_DOCUMENT
                     || in.getEventType() == XMLStreamConstants.END_ELEMENT) {
@@ -292,7 +352,7 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
             final String rootElement, SchemaTree schemaTree, final SchemaInferenceStack schemaIS)
             throws XMLStreamException, URISyntaxException {
 
-        final Set<Entry<String, String>> namesakes = new HashSet<>();
+        final Set<ChildLookup> namesakes = Collections.newSetFromMap(new IdentityHashMap<>());
         final DataSchemaNode parentSchema = parent.getSchema();
         final String parentSchemaName = parentSchema.getQName().getLocalName();
         while (in.hasNext()) {
@@ -309,19 +369,19 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
             }
 
             /*
-             Check if xml node is already added to the Set
-             if yes, we have multiple values for the same node, which is not valid.
+             Finds the actual nodes from the provided schema based on the xml element name and namespace
+             defined in the xmlns="[namespace]" metadata. The same lookup instance is returned for the same
+             element name and namespace under this parent.
              */
-            final String xmlElementNamespace = getXmlElementNamespace(in, namesakes, xmlElementName);
+            final String xmlElementNamespace = in.getNamespaceURI();
+            final ChildLookup childLookup = lookupCache.lookup(parentSchema, xmlElementNamespace, xmlElementName);
             /*
-             Finds the actual nodes from the provided schema based on the xml element name and namespace
-             defined in the xmlns="[namespace]" metadata.
+             Check if xml node is already added to the Set
+             if yes, we have multiple values for the same node, which is not valid.
              */
-            final Deque<DataSchemaNode> childDataSchemaNodes =
-                    ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, xmlElementName,
-                            XMLNamespace.of(xmlElementNamespace));
+            checkNamesake(in, namesakes, childLookup, xmlElementNamespace, xmlElementName);
 
-            if (childDataSchemaNodes.isEmpty()) {
+            if (childLookup.isEmpty()) {
                 checkState(!strictParsing, "Schema for node with name %s and namespace %s does not exist at %s",
                         xmlElementName, xmlElementNamespace, schemaIS.toSchemaNodeIdentifier());
                 skipUnknownNode(in);
@@ -329,9 +389,10 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
                 continue;
             }
             final SchemaTree parentTree = schemaTree;
+            final List<DataSchemaNode> childDataSchemaNodes = childLookup.getSchemaNodes();
             final int countOfSchemaISLevels = childDataSchemaNodes.size();
             schemaTree = getSchemaTreeWithAddedChildren(schemaTree, childDataSchemaNodes, schemaIS);
-            read(in, ((CompositeNodeDataWithSchema) parent).addChild(childDataSchemaNodes, ChildReusePolicy.NOOP),
+            read(in, ((CompositeNodeDataWithSchema) parent).addChild(childLookup.toDeque(), ChildReusePolicy.NOOP),
                     rootElement, schemaTree, schemaIS);
             schemaTree = parentTree;
             for (int i = 0; i < countOfSchemaISLevels; i++) {
@@ -340,30 +401,28 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
         }
     }
 
-    private String getXmlElementNamespace(final XMLStreamReader in, final Set<Entry<String, String>> namesakes,
-            final String xmlElementName) {
-        final String xmlElementNamespace = in.getNamespaceURI();
-        if (!namesakes.add(new SimpleImmutableEntry<>(xmlElementNamespace, xmlElementName))) {
+    private static void checkNamesake(final XMLStreamReader in, final Set<ChildLookup> namesakes,
+            final ChildLookup childLookup, final String xmlElementNamespace, final String xmlElementName) {
+        if (!namesakes.add(childLookup)) {
             final Location loc = in.getLocation();
             throw new IllegalStateException(String.format(
                     "Duplicate namespace \"%s\" element \"%s\" in XML input at: line %s column %s",
                     xmlElementNamespace, xmlElementName, loc.getLineNumber(), loc.getColumnNumber()));
         }
-        return xmlElementNamespace;
     }
 
     private SchemaTree getSchemaTreeWithAddedChildren(SchemaTree schemaTree,
-            final Deque<DataSchemaNode> childDataSchemaNodes, final SchemaInferenceStack schemaIS) {
+            final List<DataSchemaNode> childDataSchemaNodes, final SchemaInferenceStack schemaIS) {
         for (final DataSchemaNode less : childDataSchemaNodes) {
             /*
              Check if SchemaNode found based on the xmlElementName is direct child of the root node.
              If yes, the node is not from another module.
              */
             schemaIS.enterSchemaTree(less.getQName());
-            final List<QName> nodeIdentifiers = schemaIS.toSchemaNodeIdentifier().getNodeIdentifiers();
+            final Absolute nodeIdentifier = schemaIS.toSchemaNodeIdentifier();
+            final List<QName> nodeIdentifiers = nodeIdentifier.getNodeIdentifiers();
             if (nodeIdentifiers.size() == 1) {
-                schemaTree = schemaTree.addChild(less, true, false,
-                        schemaIS.toSchemaNodeIdentifier());
+                schemaTree = schemaTree.addChild(less, true, false, nodeIdentifier);
             /*
              If not, the node can be augmented, we need to check if the modules
              of it's parent and grand parent. If they are not the same, the node is from another module,
@@ -373,13 +432,12 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
                 final QName first = nodeIdentifiers.get(nodeIdentifiers.size() - 1);
                 final QName second = nodeIdentifiers.get(nodeIdentifiers.size() - 2);
                 if (second.getModule().equals(first.getModule())) {
-                    schemaTree = schemaTree.addChild(less, false, false,
-                            schemaIS.toSchemaNodeIdentifier());
+                    schemaTree = schemaTree.addChild(less, false, false, nodeIdentifier);
                 } else {
-                    schemaTree = schemaTree.addChild(less, true, true,
-                            schemaIS.toSchemaNodeIdentifier());
+                    schemaTree = schemaTree.addChild(less, true, true, nodeIdentifier);
                 }
             }
+            schemaTree.recordOccurrence(fileId);
         }
         return schemaTree;
     }
@@ -456,8 +514,7 @@ public final class TrackingXmlParserStream implements Closeable, Flushable {
 
         checkArgument(node instanceof TypedDataSchemaNode);
         checkArgument(value instanceof String);
-        final TypeAwareCodec<?, NamespaceContext, ?> xmlCodec
-                = codecs.codecFor((TypedDataSchemaNode) node, schemaIS);
+        final TypeAwareCodec<?, NamespaceContext, ?> xmlCodec = codecs.codecFor((TypedDataSchemaNode) node, schemaIS);
         return xmlCodec.parseValue(namespaceCtx, (String) value);
     }
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.simplify.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.xml.namespace.NamespaceContext;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlCodecFactory;
+import org.opendaylight.yangtools.yang.data.util.codec.TypeAwareCodec;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Absolute;
+import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack;
+
+/**
+ * Resolved {@link XmlCodecFactory} codecs of leaf and leaf-list nodes. Codecs are cached by schema node identity.
+ * Codecs of types containing leafref depend on the position of the node in the schema tree, as the same schema node
+ * instance can be reused in multiple places, so these are cached by the absolute path of the node instead.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public final class XmlCodecCache {
+
+    private final XmlCodecFactory codecs;
+    private final Map<TypedDataSchemaNode, TypeAwareCodec<?, NamespaceContext, ?>> byNode = new IdentityHashMap<>();
+    private final Map<Absolute, TypeAwareCodec<?, NamespaceContext, ?>> byPath = new HashMap<>();
+
+    public XmlCodecCache(final XmlCodecFactory codecs) {
+        this.codecs = requireNonNull(codecs);
+    }
+
+    EffectiveModelContext getEffectiveModelContext() {
+        return codecs.getEffectiveModelContext();
+    }
+
+    /**
+     * Get codec of given node.
+     *
+     * @param node     leaf or leaf-list node
+     * @param schemaIS stack pointing to the {@code node}, used to resolve leafref types
+     * @return codec of the {@code node}
+     */
+    TypeAwareCodec<?, NamespaceContext, ?> codecFor(final TypedDataSchemaNode node,
+            final SchemaInferenceStack schemaIS) {
+        TypeAwareCodec<?, NamespaceContext, ?> codec = byNode.get(node);
+        if (codec != null) {
+            return codec;
+        }
+        if (containsLeafref(node.getType())) {
+            return byPath.computeIfAbsent(schemaIS.toSchemaNodeIdentifier(), k -> codecs.codecFor(node, schemaIS));
+        }
+        codec = codecs.codecFor(node, schemaIS);
+        byNode.put(node, codec);
+        return codec;
+    }
+
+    private static boolean containsLeafref(final TypeDefinition<?> type) {
+        if (type instanceof LeafrefTypeDefinition) {
+            return true;
+        }
+        if (type instanceof UnionTypeDefinition) {
+            for (final TypeDefinition<?> memberType : ((UnionTypeDefinition) type).getTypes()) {
+                if (containsLeafref(memberType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
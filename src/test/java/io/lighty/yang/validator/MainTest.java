@@ -13,6 +13,7 @@ import io.lighty.yang.validator.config.ConfigurationBuilder;
 import io.lighty.yang.validator.formats.Format;
 import io.lighty.yang.validator.formats.FormatPlugin;
 import io.lighty.yang.validator.formats.MultiModulePrinter;
+import io.lighty.yang.validator.formats.utility.DependencyGraph;
 import io.lighty.yang.validator.simplify.SchemaSelector;
 import io.lighty.yang.validator.simplify.SchemaTree;
 import java.io.File;
@@ -25,9 +26,14 @@ import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.io.FileUtils;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
@@ -91,6 +97,67 @@ public class MainTest implements Cleanable {
         }
     }
 
+    @Test
+    public void testExportClosure() throws Exception {
+        final String yangPath = MainTest.class.getResource("/yang").getFile();
+        final String module = Paths.get(yangPath).resolve("ietf-ipv6-unicast-routing@2018-03-13.yang").toString();
+        final Path directory = Files.createTempDirectory("closure");
+        final Path zip = Paths.get(MainTest.class.getResource("/out").getFile()).resolve("closure.zip");
+        try {
+            final Set<String> expected = Set.of("ietf-ipv6-unicast-routing@2018-03-13.yang",
+                    "ietf-ipv6-router-advertisements@2018-03-13.yang", "ietf-routing@2018-03-13.yang",
+                    "ietf-ip@2018-02-22.yang", "ietf-interfaces@2018-02-20.yang", "ietf-inet-types@2013-07-15.yang",
+                    "ietf-yang-types@2013-07-15.yang");
+            Main.runLYV(ImmutableList.of(module), new ConfigurationBuilder().setExportClosure(directory.toString())
+                    .build(), new Format(Collections.emptyList()));
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(files.map(file -> file.getFileName().toString()).collect(Collectors.toSet()),
+                        expected);
+            }
+            Main.runLYV(ImmutableList.of(module), new ConfigurationBuilder().setExportClosure(zip.toString())
+                    .build(), new Format(Collections.emptyList()));
+            try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+                Assert.assertEquals(zipFile.stream().map(ZipEntry::getName).collect(Collectors.toSet()), expected);
+            }
+        } finally {
+            FileUtils.deleteDirectory(directory.toFile());
+        }
+    }
+
+    @Test
+    public void testLibraryUsage() throws Exception {
+        final String yangPath = MainTest.class.getResource("/yang").getFile();
+        final YangContextFactory contextFactory = new YangContextFactory(ImmutableList.of(yangPath),
+                ImmutableList.of(Paths.get(yangPath).resolve("ietf-ip@2018-02-22.yang").toString()),
+                Collections.emptySet(), false);
+        final EffectiveModelContext context = contextFactory.createContext(false);
+        final LibraryUsage usage = new LibraryUsage(contextFactory.getLibrarySources(), new DependencyGraph(context),
+                contextFactory.getTestFilesSourceIdentifiers());
+        final Set<String> used = usage.getUsed().stream().map(source -> source.getFile().getName())
+                .collect(Collectors.toSet());
+        Assert.assertEquals(used, Set.of("ietf-ip@2018-02-22.yang", "ietf-interfaces@2018-02-20.yang",
+                "ietf-inet-types@2013-07-15.yang", "ietf-yang-types@2013-07-15.yang"));
+        Assert.assertTrue(usage.getUnused().stream().anyMatch(source -> source.getFile().getName()
+                .equals("ietf-routing@2018-03-13.yang") && source.getSize() > 0 && source.getParseNanos() > 0));
+    }
+
+    @Test
+    public void testLibraryUsageWithAllFiles() throws Exception {
+        final String yangPath = MainTest.class.getResource("/yang").getFile();
+        final YangContextFactory contextFactory = new YangContextFactory(ImmutableList.of(yangPath),
+                ImmutableList.of(Paths.get(yangPath).resolve("ietf-interfaces@2018-02-20.yang").toString()),
+                Collections.emptySet(), false);
+        // all library files are part of the context in simplify mode, only the dependencies are reported as used
+        final EffectiveModelContext context = contextFactory.createContext(true);
+        final LibraryUsage usage = new LibraryUsage(contextFactory.getLibrarySources(), new DependencyGraph(context),
+                contextFactory.getTestFilesSourceIdentifiers());
+        final Set<String> used = usage.getUsed().stream().map(source -> source.getFile().getName())
+                .collect(Collectors.toSet());
+        Assert.assertEquals(used, Set.of("ietf-yang-types@2013-07-15.yang"));
+        Assert.assertTrue(usage.getUnused().stream().anyMatch(source -> source.getFile().getName()
+                .equals("ietf-ip@2018-02-22.yang")));
+    }
+
     private static SchemaTree resolveSchemaTree(final List<File> xmlFiles,
             final EffectiveModelContext effectiveModelContext) throws Exception {
         final SchemaSelector schemaSelector = new SchemaSelector(effectiveModelContext);
@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -91,6 +93,95 @@ public class TreeSimplifiedTest implements Cleanable {
         Assert.assertEquals(fileCreated, compareWith);
     }
 
+    @Test
+    public void runYangSimplifiedVerifyTest() throws Exception {
+        prepare("yang", new MultiModulePrinter());
+        this.builder.setVerify(true);
+        final String module = Paths.get(this.yangPath).resolve("ietf-interfaces@2018-02-20.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final Path outPath = Paths.get(this.outPath);
+        final String fileCreated = FileUtils.readFileToString(outPath.resolve("ietf-interfaces@2018-02-20.yang")
+                .toFile(), "utf-8");
+        final String compareWith = FileUtils.readFileToString(outPath.resolve("compare")
+                .resolve("interfaces-simplified.yang").toFile(), "utf-8");
+        Assert.assertEquals(fileCreated, compareWith);
+        final String outLog = FileUtils.readFileToString(outPath.resolve("out.log").toFile(), "utf-8");
+        Assert.assertTrue(outLog.contains("Verified 1 generated yang modules"), outLog);
+    }
+
+    @Test
+    public void runTreeSimplifiedWithUsageFileTest() throws Exception {
+        prepare("tree", new Tree());
+        final Path usageFile = Paths.get(this.outPath).resolve("simplify-usage.txt");
+        this.builder.setSimplifyUsageFile(usageFile.toString());
+        final String module = Paths.get(this.yangPath).resolve("ietf-interfaces@2018-02-20.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        Assert.assertTrue(usageFile.toFile().exists());
+
+        // Second run skips the already used xml file and takes the used nodes from the usage file
+        this.method.invoke(this.constructor.newInstance(), this.builder.build());
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final Path outLog = Paths.get(this.outPath).resolve("out.log");
+        final String fileCreated = FileUtils.readFileToString(outLog.toFile(), "utf-8");
+        final String compareWith = FileUtils.readFileToString(outLog.getParent().resolve("compare")
+                .resolve("interfacesSimplified.tree").toFile(), "utf-8");
+        Assert.assertEquals(fileCreated, compareWith);
+    }
+
+    @Test
+    public void runSimplifyUsageJsonTest() throws Exception {
+        prepare("tree", new Tree());
+        final Path usageJson = Paths.get(this.outPath).resolve("simplify-usage.json");
+        this.builder.setSimplifyUsageJson(usageJson.toString());
+        final String module = Paths.get(this.yangPath).resolve("ietf-interfaces@2018-02-20.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final JSONObject interfaces = new JSONObject(FileUtils.readFileToString(usageJson.toFile(), "utf-8"))
+                .getJSONArray("children").getJSONObject(0);
+        Assert.assertEquals(interfaces.getString("name"), "interfaces");
+        Assert.assertEquals(interfaces.getString("module"), "ietf-interfaces");
+        Assert.assertEquals(interfaces.getLong("occurrences"), 1);
+        Assert.assertEquals(interfaces.getInt("files"), 1);
+    }
+
+    @Test
+    public void runTreeSimplifiedMinFilesTest() throws Exception {
+        prepare("tree", new Tree());
+        this.builder.setSimplify(TreeSimplifiedTest.class.getResource("/simplify-min-files").getFile())
+                .setSimplifyMinFiles(2);
+        final String module = Paths.get(this.yangPath).resolve("ietf-interfaces@2018-02-20.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final Path outLog = Paths.get(this.outPath).resolve("out.log");
+        final String fileCreated = FileUtils.readFileToString(outLog.toFile(), "utf-8");
+        final String compareWith = FileUtils.readFileToString(outLog.getParent().resolve("compare")
+                .resolve("interfacesSimplified.tree").toFile(), "utf-8");
+        // description occurred only in one of the two files, the other nodes occurred in both of them
+        Assert.assertEquals(fileCreated, compareWith);
+    }
+
+    @Test
+    public void runSimplifyAnyxmlTest() throws Exception {
+        prepare("tree", new Tree());
+        final String anyxmlPath = TreeSimplifiedTest.class.getResource("/simplify-anyxml").getFile();
+        final Path yangDir = Paths.get(anyxmlPath).resolve("yang");
+        final Path usageJson = Paths.get(this.outPath).resolve("simplify-usage.json");
+        this.builder.setPath(Collections.singletonList(yangDir.toString()))
+                .setSimplify(Paths.get(anyxmlPath).resolve("xml").toString())
+                .setSimplifyUsageJson(usageJson.toString());
+        final String module = yangDir.resolve("anyxml-test@2021-01-01.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+
+        // Nested content of the anyxml is skipped, so only the sibling leaf following it is tracked
+        final JSONObject top = new JSONObject(FileUtils.readFileToString(usageJson.toFile(), "utf-8"))
+                .getJSONArray("children").getJSONObject(0);
+        Assert.assertEquals(top.getString("name"), "top");
+        final JSONArray children = top.getJSONArray("children");
+        Assert.assertEquals(children.length(), 2);
+        Assert.assertEquals(children.getJSONObject(0).getString("name"), "payload");
+        Assert.assertEquals(children.getJSONObject(0).getLong("occurrences"), 1);
+        Assert.assertEquals(children.getJSONObject(1).getString("name"), "after");
+        Assert.assertEquals(children.getJSONObject(1).getLong("occurrences"), 1);
+    }
+
     private void prepare(final String format, final FormatPlugin plugin) {
         final List<FormatPlugin> formats = new ArrayList<>();
         formats.add(plugin);
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class YangHeaderIndexTest {
+
+    private YangHeaderIndex index;
+
+    @BeforeClass
+    public void init() {
+        final String yangPath = YangHeaderIndexTest.class.getResource("/yang").getFile();
+        this.index = YangHeaderIndex.scan(YangContextFactory.getYangFiles(yangPath, false));
+    }
+
+    @Test
+    public void headersTest() {
+        final YangHeaderIndex.Header advertisements = this.index.getHeaders().stream()
+                .filter(header -> header.getName().equals("ietf-ipv6-router-advertisements"))
+                .findFirst().orElseThrow();
+        Assert.assertTrue(advertisements.isSubmodule());
+        Assert.assertEquals(advertisements.getRevision(), "2018-03-13");
+    }
+
+    @Test
+    public void dependentsTest() {
+        final Map<String, Integer> dependents = ids(this.index.findDependents("ietf-interfaces"));
+        Assert.assertEquals(dependents.get("ietf-ip@2018-02-22"), Integer.valueOf(1));
+        Assert.assertEquals(dependents.get("ietf-routing@2018-03-13"), Integer.valueOf(1));
+        Assert.assertEquals(dependents.get("ietf-ipv6-router-advertisements@2018-03-13"), Integer.valueOf(1));
+        Assert.assertEquals(dependents.get("ietf-ipv6-unicast-routing@2018-03-13"), Integer.valueOf(2));
+        Assert.assertFalse(dependents.containsKey("ietf-yang-types@2013-07-15"));
+    }
+
+    @Test
+    public void dependentsOfRevisionTest() {
+        Assert.assertEquals(ids(this.index.findDependents("ietf-ipv6-router-advertisements@2018-03-13")).keySet(),
+                Set.of("ietf-ipv6-unicast-routing@2018-03-13"));
+        Assert.assertTrue(this.index.findDependents("ietf-ipv6-router-advertisements@2016-11-04").isEmpty());
+    }
+
+    private static Map<String, Integer> ids(final Map<YangHeaderIndex.Header, Integer> dependents) {
+        return dependents.entrySet().stream().collect(Collectors.toMap(entry -> entry.getKey().getId(),
+                Map.Entry::getValue));
+    }
+}
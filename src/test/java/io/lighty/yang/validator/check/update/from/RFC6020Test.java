@@ -33,6 +33,7 @@ public class RFC6020Test implements Cleanable {
     private static final String OLD = "/checkUpdateFromYangWithProblems/old/";
     private static final String OUT = "out.log";
     private static final String COMPARE = "compare";
+    private static final String CROSS_MODULE = "crossModuleAugment/";
 
     private String yangPath;
     private ConfigurationBuilder builder;
@@ -95,6 +96,26 @@ public class RFC6020Test implements Cleanable {
                 "checkUpdateFrom2");
     }
 
+    @Test
+    public void testOperations() throws Exception {
+        testCheckUpdateFrom("operations/",
+                "operations@2020-01-01.yang",
+                "operations@2021-01-01.yang",
+                "checkUpdateFrom4");
+    }
+
+    @Test
+    public void testCrossModuleAugmentations() throws Exception {
+        // imported modules of both revisions are found next to the tested modules
+        this.builder.setPath(Collections.singletonList(RFC6020Test.class.getResource(NEW + CROSS_MODULE).getFile()))
+                .setCheckUpdateFromConfiguration(7950,
+                        Collections.singletonList(RFC6020Test.class.getResource(OLD + CROSS_MODULE).getFile()));
+        testCheckUpdateFrom(CROSS_MODULE,
+                "augmenting@2020-01-01.yang",
+                "augmenting@2021-01-01.yang",
+                "checkUpdateFrom5");
+    }
+
     private void testCheckUpdateFrom(final String yangDirPart, final String oldModule,
             final String newModule, final String comapreFile) throws Exception {
         final String newMissing = NEW + yangDirPart;
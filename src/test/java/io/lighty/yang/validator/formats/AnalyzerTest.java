@@ -79,6 +79,15 @@ public class AnalyzerTest implements Cleanable {
     }
 
 
+    @Test
+    public void analyzeModulesTest() throws Exception {
+        final String module = Paths.get(AnalyzerTest.class.getResource("/analyze").getFile())
+                .resolve("analyze-metrics@2021-01-01.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.setAnalyzeModules(true).build(), this.formatter);
+        this.builder.setAnalyzeModules(false);
+        runAnalyzeTest("analyze-metrics-modules");
+    }
+
     private void runAnalyzeTest(final String comapreWithFileName) throws Exception {
         final Path outLog = Paths.get(this.outPath).resolve("out.log");
         final String fileCreated = FileUtils.readFileToString(outLog.toFile(), "utf-8");
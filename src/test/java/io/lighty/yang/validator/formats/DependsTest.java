@@ -18,6 +18,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -93,6 +95,55 @@ public class DependsTest extends FormatTest {
         runDependendsTest("ietf-ipv6-router-advertisements_exclude-module-dependencies");
     }
 
+    @Test
+    public void dependsTestMultipleModules() throws Exception {
+        setFormat();
+        final String oam =
+                Paths.get(this.yangPath).resolve("ietf-connection-oriented-oam@2019-04-16.yang").toString();
+        final String acm = Paths.get(this.yangPath).resolve("ietf-netconf-acm@2018-02-14.yang").toString();
+        runLYV(ImmutableList.of(oam, acm), this.builder.build(), this.formatter);
+        final String fileCreated = FileUtils.readFileToString(Paths.get(this.outPath).resolve("out.log").toFile(),
+                "utf-8");
+        Assert.assertTrue(fileCreated.contains("module ietf-netconf-acm@2018-02-14 depends on following modules:"
+                + " ietf-yang-types " + System.lineSeparator()), fileCreated);
+    }
+
+    @Test
+    public void dependsGraphDotTest() throws Exception {
+        setFormat();
+        this.builder.setDependConfiguration(false, false, false, new HashSet<>(), "dot");
+        final String module = Paths.get(this.yangPath).resolve("ietf-ipv6-unicast-routing@2018-03-13.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final String fileCreated = FileUtils.readFileToString(Paths.get(this.outPath).resolve("out.log").toFile(),
+                "utf-8");
+        Assert.assertTrue(fileCreated.startsWith("digraph dependencies {"), fileCreated);
+        Assert.assertTrue(fileCreated.contains("\"ietf-ipv6-unicast-routing@2018-03-13\" -> "
+                + "\"ietf-routing@2018-03-13\";"), fileCreated);
+        Assert.assertTrue(fileCreated.contains("\"ietf-ipv6-unicast-routing@2018-03-13\" -> "
+                + "\"ietf-ipv6-router-advertisements@2018-03-13\" [style=dashed];"), fileCreated);
+    }
+
+    @Test
+    public void dependsGraphJsonTest() throws Exception {
+        setFormat();
+        this.builder.setDependConfiguration(false, false, false, new HashSet<>(), "json");
+        final String module = Paths.get(this.yangPath).resolve("ietf-ipv6-unicast-routing@2018-03-13.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final JSONArray modules = new JSONObject(FileUtils.readFileToString(Paths.get(this.outPath)
+                .resolve("out.log").toFile(), "utf-8")).getJSONArray("modules");
+        JSONObject routing = null;
+        for (int i = 0; i < modules.length(); i++) {
+            if ("ietf-ipv6-unicast-routing@2018-03-13".equals(modules.getJSONObject(i).getString("id"))) {
+                routing = modules.getJSONObject(i);
+            }
+        }
+        Assert.assertNotNull(routing);
+        Assert.assertFalse(routing.getBoolean("submodule"));
+        Assert.assertEquals(routing.getJSONArray("includes").getString(0),
+                "ietf-ipv6-router-advertisements@2018-03-13");
+        Assert.assertTrue(routing.getJSONArray("imports").toList().contains("ietf-routing@2018-03-13"));
+    }
+
     @Override
     public void runInterfacesTest() throws Exception {
         runDependendsTest("interfaces-dependencies");
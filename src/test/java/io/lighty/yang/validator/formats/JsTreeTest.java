@@ -11,10 +11,17 @@ import static io.lighty.yang.validator.Main.runLYV;
 
 import com.google.common.collect.ImmutableList;
 import io.lighty.yang.validator.FormatTest;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -38,6 +45,66 @@ public class JsTreeTest extends FormatTest {
         runJsTreeTest("undeclared.html");
     }
 
+    @Test
+    public void testLazy() throws Exception {
+        setFormat();
+        final Path lazyDirectory = Files.createTempDirectory("jstree");
+        this.builder.setJsTreeConfiguration(lazyDirectory.toString());
+        try {
+            final String module = Paths.get(this.yangPath).resolve("ietf-ip@2018-02-22.yang").toString();
+            runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+            final String index = Files.readString(lazyDirectory.resolve("index.html"));
+            Assert.assertTrue(index.contains("<a href=\"ietf-ip@2018-02-22.html\">"));
+            final String page = Files.readString(lazyDirectory.resolve("ietf-ip@2018-02-22.html"));
+            Assert.assertTrue(page.contains("<script src=\"assets/jstree-lazy.js\"></script>"));
+            Assert.assertFalse(page.contains("data-node-id"));
+            Assert.assertTrue(Files.exists(lazyDirectory.resolve("assets").resolve("jstree-lazy.js")));
+
+            final Path chunks = lazyDirectory.resolve("ietf-ip@2018-02-22");
+            final String root = Files.readString(chunks.resolve("root.js"));
+            Assert.assertTrue(root.startsWith("LyvJsTree.chunk(\"\", [{\"id\":\"1\",\"children\":true,"));
+            Assert.assertTrue(root.contains("/if:interfaces/if:interface<\\/td>"));
+            Assert.assertFalse(root.contains("data-node-id=\\\"1.1\\\""));
+            final String augmentation = Files.readString(chunks.resolve("1.js"));
+            Assert.assertTrue(augmentation.contains("data-node-id=\\\"1.1\\\" data-node-pid=\\\"1\\\""));
+        } finally {
+            this.builder.setJsTreeConfiguration(null);
+            FileUtils.deleteDirectory(lazyDirectory.toFile());
+        }
+    }
+
+    @Test
+    public void testLazyActions() throws Exception {
+        setFormat();
+        final Path lazyDirectory = Files.createTempDirectory("jstree");
+        this.builder.setJsTreeConfiguration(lazyDirectory.toString());
+        try {
+            final String module = Paths.get(this.yangPath).resolve("test_model@2020-12-03.yang").toString();
+            runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+            // rows are quoted in the chunks
+            final Pattern row = Pattern.compile(
+                    "data-node-id=\\\\\"([^\\\\]*)\\\\\" data-node-pid=\\\\\"([^\\\\]*)\\\\\"");
+            final Set<String> ids = new HashSet<>();
+            try (Stream<Path> chunks = Files.list(lazyDirectory.resolve("test_model@2020-12-03"))) {
+                for (final Path chunk : chunks.collect(Collectors.toList())) {
+                    final String fileName = chunk.getFileName().toString();
+                    final String parentId = "root.js".equals(fileName) ? ""
+                            : fileName.substring(0, fileName.length() - ".js".length());
+                    final Matcher matcher = row.matcher(Files.readString(chunk));
+                    while (matcher.find()) {
+                        Assert.assertTrue(ids.add(matcher.group(1)), "duplicate id " + matcher.group(1));
+                        Assert.assertEquals(matcher.group(2), parentId, fileName);
+                    }
+                }
+            }
+            // list with an action, its input and output
+            Assert.assertTrue(ids.containsAll(List.of("3.1", "3.2", "3.2.1", "3.2.2")), ids.toString());
+        } finally {
+            this.builder.setJsTreeConfiguration(null);
+            FileUtils.deleteDirectory(lazyDirectory.toFile());
+        }
+    }
+
     @Override
     public void runInterfacesTest() throws Exception {
         runJsTreeTest("interfaces.html");
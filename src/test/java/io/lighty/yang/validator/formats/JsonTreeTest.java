@@ -7,13 +7,21 @@
  */
 package io.lighty.yang.validator.formats;
 
+import static io.lighty.yang.validator.Main.runLYV;
+
+import com.google.common.collect.ImmutableList;
 import io.lighty.yang.validator.FormatTest;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.testng.Assert;
+import org.testng.annotations.Test;
 
 public class JsonTreeTest extends FormatTest {
 
@@ -25,6 +33,86 @@ public class JsonTreeTest extends FormatTest {
         this.builder.setFormat("json-tree");
     }
 
+    @Test
+    public void jsonTreeCompactTest() throws Exception {
+        setFormat();
+        this.builder.setJsonTreeConfiguration("compact");
+        final String module = Paths.get(this.yangPath).resolve("test_model@2020-12-03.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final List<String> lines = FileUtils.readLines(Paths.get(this.outPath).resolve("out.log").toFile(), "utf-8");
+        Assert.assertEquals(lines.size(), 1);
+        runJsonTreeTest("testModel.json");
+    }
+
+    @Test
+    public void jsonTreeNdjsonTest() throws Exception {
+        setFormat();
+        this.builder.setJsonTreeConfiguration("ndjson");
+        final String module = Paths.get(this.yangPath).resolve("test_model@2020-12-03.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final List<String> lines = FileUtils.readLines(Paths.get(this.outPath).resolve("out.log").toFile(), "utf-8");
+        final JSONObject moduleLine = new JSONObject(lines.get(0));
+        Assert.assertEquals(moduleLine.getString("class"), "module");
+        Assert.assertEquals(moduleLine.getString("name"), "test_model");
+        final JSONObject compareWith = new JSONObject(FileUtils.readFileToString(Paths.get(this.outPath)
+                .resolve("compare").resolve("testModel.json").toFile(), "utf-8"));
+        Assert.assertEquals(lines.size() - 1, countNodes(compareWith));
+        for (final String line : lines.subList(1, lines.size())) {
+            final JSONObject node = new JSONObject(line);
+            Assert.assertTrue(node.has("path"));
+            Assert.assertFalse(node.has("children"));
+        }
+    }
+
+    @Test
+    public void jsonTreeDefinitionsTest() throws Exception {
+        setFormat();
+        this.builder.setJsonTreeConfiguration("pretty", true);
+        final String module =
+                Paths.get(this.yangPath).resolve("ietf-connection-oriented-oam@2019-04-16.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final JSONObject jsonTree = new JSONObject(FileUtils.readFileToString(Paths.get(this.outPath)
+                .resolve("out.log").toFile(), "utf-8"));
+        final Set<String> definitions = new HashSet<>();
+        for (final Object definition : jsonTree.getJSONArray("definitions")) {
+            Assert.assertTrue(definitions.add(((JSONObject) definition).getString("name")));
+        }
+        final Set<String> references = new HashSet<>();
+        collectUses(jsonTree, references);
+        Assert.assertEquals(references, definitions);
+        Assert.assertTrue(definitions.contains("co-oam:cos"));
+    }
+
+    private static void collectUses(final JSONObject json, final Set<String> references) {
+        if (json.has("uses")) {
+            for (final Object id : json.getJSONArray("uses")) {
+                references.add((String) id);
+            }
+        }
+        for (final String key : json.keySet()) {
+            final Object value = json.get(key);
+            if (value instanceof JSONArray) {
+                for (final Object child : (JSONArray) value) {
+                    if (child instanceof JSONObject) {
+                        collectUses((JSONObject) child, references);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int countNodes(final JSONObject json) {
+        int count = 0;
+        for (final String key : new String[]{"children", "notifications", "rpcs", "augments"}) {
+            if (json.has(key)) {
+                for (final Object child : json.getJSONArray(key)) {
+                    count += 1 + countNodes((JSONObject) child);
+                }
+            }
+        }
+        return count;
+    }
+
     @Override
     public void runInterfacesTest() throws Exception {
         runJsonTreeTest("interfaces.json");
@@ -55,7 +143,8 @@ public class JsonTreeTest extends FormatTest {
         final String fileCreated = FileUtils.readFileToString(outLog.toFile(), "utf-8");
         final String compareWith = FileUtils.readFileToString(outLog.getParent().resolve("compare")
                 .resolve(comapreWithFileName).toFile(), "utf-8");
-        Assert.assertEquals(fileCreated.replaceAll("\\s+", ""), compareWith.replaceAll("\\s+", ""));
+        Assert.assertTrue(new JSONObject(fileCreated).similar(new JSONObject(compareWith)),
+                "Json tree differs from " + comapreWithFileName + ":\n" + fileCreated);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats;
+
+import static io.lighty.yang.validator.Main.runLYV;
+
+import com.google.common.collect.ImmutableList;
+import io.lighty.yang.validator.Cleanable;
+import io.lighty.yang.validator.Main;
+import io.lighty.yang.validator.MainTest;
+import io.lighty.yang.validator.config.Configuration;
+import io.lighty.yang.validator.config.ConfigurationBuilder;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RuntimeCostTest implements Cleanable {
+
+    private String yangPath;
+    private Format formatter;
+    private ConfigurationBuilder builder;
+    private String outPath;
+    private Method method;
+    private Constructor<Main> constructor;
+
+    @BeforeClass
+    public void init() {
+        outPath = RuntimeCostTest.class.getResource("/out").getFile();
+        yangPath = MainTest.class.getResource("/yang").getFile();
+    }
+
+    @BeforeMethod
+    public void setUpOutput() throws Exception {
+        this.builder = new ConfigurationBuilder()
+                .setRecursive(false)
+                .setOutput(this.outPath)
+                .setFormat("cost");
+        this.constructor = (Constructor<Main>) Main.class.getDeclaredConstructors()[0];
+        this.constructor.setAccessible(true);
+        final Main mainClass = this.constructor.newInstance();
+
+        this.method = Main.class.getDeclaredMethod("setMainLoggerOutput", Configuration.class);
+        this.method.setAccessible(true);
+        this.method.invoke(mainClass, this.builder.build());
+        final List<FormatPlugin> formats = new ArrayList<>();
+        formats.add(new RuntimeCost());
+        this.formatter = new Format(formats);
+    }
+
+    @AfterMethod
+    public void removeOuptut() throws Exception {
+        tearDown();
+        this.method.setAccessible(false);
+        this.constructor.setAccessible(false);
+    }
+
+    @Test
+    public void costTest() throws Exception {
+        final String module = Paths.get(this.yangPath).resolve("ietf-ip@2018-02-22.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        final String[] lines = readOutput().split("\\R");
+        Assert.assertTrue(lines[0].startsWith("Estimated heap of the schema context: "), lines[0]);
+        Assert.assertTrue(lines[1].startsWith("rank module"), lines[1]);
+        Assert.assertTrue(lines[2].startsWith("   1 ietf-ip@2018-02-22 "), lines[2]);
+        Assert.assertTrue(lines[3].startsWith("   2 ietf-interfaces@2018-02-20 "), lines[3]);
+    }
+
+    @Test
+    public void costMeasureHeapTest() throws Exception {
+        final String module = Paths.get(this.yangPath).resolve("ietf-ip@2018-02-22.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.setCostMeasureHeap(true).build(), this.formatter);
+        final String output = readOutput();
+        Assert.assertTrue(output.startsWith("Measured retained heap of the schema context: "), output);
+    }
+
+    private String readOutput() throws Exception {
+        final Path outLog = Paths.get(this.outPath).resolve("out.log");
+        return FileUtils.readFileToString(outLog.toFile(), "utf-8");
+    }
+}
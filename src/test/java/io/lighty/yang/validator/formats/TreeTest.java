@@ -75,6 +75,40 @@ public class TreeTest extends FormatTest {
         runTreeTest("interfaces-limited-depth.tree");
     }
 
+    @Test
+    public void treePathTest() throws Exception {
+        setFormat();
+        this.builder.setTreeConfiguration(0, 0, false, false, false,
+                ImmutableList.of("/if:interfaces/interface"));
+        final String module = Paths.get(this.yangPath).resolve("ietf-ip@2018-02-22.yang").toString();
+        runLYV(ImmutableList.of(module), this.builder.build(), this.formatter);
+        runTreeTest("ip-tree-path.tree");
+    }
+
+    @Test
+    public void treePathModuleNameTest() throws Exception {
+        setFormat();
+        this.builder.setTreeConfiguration(0, 0, false, false, false,
+                ImmutableList.of("/second:top"));
+        runLYV(getSamePrefixModules(), this.builder.build(), this.formatter);
+        runTreeTest("tree-path-module-name.tree");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Prefix p of the tree path is used by modules first, second.*")
+    public void treePathAmbiguousPrefixTest() throws Exception {
+        setFormat();
+        this.builder.setTreeConfiguration(0, 0, false, false, false,
+                ImmutableList.of("/p:top"));
+        runLYV(getSamePrefixModules(), this.builder.build(), this.formatter);
+    }
+
+    private static List<String> getSamePrefixModules() {
+        final Path dir = Paths.get(TreeTest.class.getResource("/tree-path-prefix").getFile());
+        return ImmutableList.of(dir.resolve("first@2021-01-01.yang").toString(),
+                dir.resolve("second@2021-01-01.yang").toString());
+    }
+
     @Override
     public void runInterfacesTest() throws Exception {
         runTreeTest("interfaces.tree");
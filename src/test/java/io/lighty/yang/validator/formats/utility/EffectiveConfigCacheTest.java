@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.api.YangParser;
+import org.opendaylight.yangtools.yang.parser.impl.DefaultYangParserFactory;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class EffectiveConfigCacheTest {
+
+    private static final String OUTPUT = "output";
+
+    private EffectiveModelContext context;
+
+    @BeforeClass
+    public void init() throws Exception {
+        final YangParser parser = new DefaultYangParserFactory().createParser();
+        parser.addSource(YangTextSchemaSource.forResource(EffectiveConfigCacheTest.class,
+                "/effective-config/config-base@2021-01-01.yang"));
+        parser.addSource(YangTextSchemaSource.forResource(EffectiveConfigCacheTest.class,
+                "/effective-config/config-augment@2021-01-01.yang"));
+        this.context = parser.buildEffectiveModel();
+    }
+
+    @Test
+    public void augmentationTargetConfigTest() {
+        final Map<String, Boolean> expected = new LinkedHashMap<>();
+        expected.put("inner", true);
+        expected.put("added", true);
+        expected.put("added-state", false);
+        expected.put("deep", false);
+        expected.put("input", true);
+        expected.put("output", false);
+        expected.put("speed", true);
+
+        final EffectiveConfigCache cache = new EffectiveConfigCache(this.context);
+        final Map<String, Boolean> resolved = new LinkedHashMap<>();
+        for (final Module module : this.context.getModules()) {
+            for (final AugmentationSchemaNode augmentation : module.getAugmentations()) {
+                final boolean isConfig = cache.isConfig(augmentation.getTargetPath());
+                Assert.assertEquals(isConfig, isAugmentConfig(augmentation), augmentation.getTargetPath().toString());
+                resolved.put(augmentation.getTargetPath().lastNodeIdentifier().getLocalName(), isConfig);
+            }
+        }
+        Assert.assertEquals(resolved, expected);
+    }
+
+    /**
+     * Resolution used by json-tree before the cache was introduced, which looks up every prefix of the path from the
+     * root of the schema context.
+     */
+    private boolean isAugmentConfig(final AugmentationSchemaNode augmentation) {
+        final List<QName> qNames = new ArrayList<>();
+        Collection<? extends ActionDefinition> actions = new HashSet<>();
+        boolean isAction = false;
+        for (final QName path : augmentation.getTargetPath().getNodeIdentifiers()) {
+            if (isAction) {
+                return !OUTPUT.equals(path.getLocalName());
+            }
+            if (isActionName(actions, path)) {
+                isAction = true;
+                continue;
+            }
+
+            qNames.add(path);
+            final Optional<DataSchemaNode> dataTreeChild = this.context.findDataTreeChild(qNames);
+            if (dataTreeChild.isPresent()) {
+                final Optional<Boolean> isConfig = dataTreeChild.get().effectiveConfig();
+                if (isConfig.isPresent() && !isConfig.get()) {
+                    return false;
+                }
+                if (dataTreeChild.get() instanceof ActionNodeContainer) {
+                    actions = ((ActionNodeContainer) dataTreeChild.get()).getActions();
+                }
+            } else {
+                qNames.remove(path);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isActionName(final Collection<? extends ActionDefinition> actions, final QName path) {
+        for (final ActionDefinition action : actions) {
+            if (action.getQName().getLocalName().equals(path.getLocalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2021 Pantheon Technologies s.r.o. All Rights Reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ */
+package io.lighty.yang.validator.formats.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ParseVerifierTest {
+
+    private static final String REVISION = "2021-01-01";
+
+    @Test
+    public void validModulesTest() {
+        final Map<SourceIdentifier, byte[]> generated = new LinkedHashMap<>();
+        addModule(generated, "valid", "container top {\n    leaf name {\n      type string;\n    }\n  }\n");
+        Assert.assertEquals(ParseVerifier.verify(generated, Collections.emptyList(), null), Collections.emptyList());
+    }
+
+    @Test
+    public void brokenModulesTest() {
+        final Map<SourceIdentifier, byte[]> generated = new LinkedHashMap<>();
+        addModule(generated, "valid", "container top {\n    leaf name {\n      type string;\n    }\n  }\n");
+        addModule(generated, "unclosed", "container top {\n    leaf name {\n      type string;\n  }\n");
+        addModule(generated, "unknown-type", "leaf name {\n    type missing;\n  }\n");
+
+        final List<String> errors = ParseVerifier.verify(generated, Collections.emptyList(), null);
+        Assert.assertEquals(errors.size(), 2, errors.toString());
+        Assert.assertTrue(errors.get(0).startsWith("unclosed@2021-01-01.yang: "), errors.get(0));
+        Assert.assertTrue(errors.get(1).startsWith("unknown-type@2021-01-01.yang: "), errors.get(1));
+    }
+
+    private static void addModule(final Map<SourceIdentifier, byte[]> generated, final String name,
+            final String body) {
+        final String text = "module " + name + " {\n"
+                + "  namespace \"urn:" + name + "\";\n"
+                + "  prefix " + name.charAt(0) + ";\n"
+                + "  revision " + REVISION + ";\n"
+                + "  " + body
+                + "}\n";
+        generated.put(RevisionSourceIdentifier.create(name, Revision.of(REVISION)),
+                text.getBytes(StandardCharsets.UTF_8));
+    }
+}